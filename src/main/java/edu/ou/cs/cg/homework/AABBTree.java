@@ -0,0 +1,700 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A dynamic bounding volume hierarchy over polygon
+ * bounding boxes.
+ *
+ * Leaves hold a fattened box around a polygon's bounding
+ * circle, so small moves do not touch the tree at all. The
+ * circle does not change as the polygon turns, so checking
+ * a leaf is O(1) for any number of sides, and the exact box
+ * is only worked out when pairs are found. Inserts pick the
+ * sibling that grows the tree's perimeter the least and
+ * rotations on the way back up keep it balanced. Nodes live
+ * in parallel arrays and are recycled through a free list.
+ */
+class AABBTree implements BroadPhase
+{
+    // Marks a missing node
+    private static final int NULL = -1;
+
+    // Fattening added to each side, as a fraction of the
+    // box size plus a floor for tiny boxes
+    private static final float MARGIN_RATIO = 0.1f;
+    private static final float MARGIN_MIN = 0.005f;
+
+    // Node boxes
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+
+    // Node links. Free nodes chain through parent
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+
+    // Height of each node, leaves are 0
+    private int[] height;
+
+    // Polygon held by each leaf
+    private Polygon[] item;
+
+    // Tree state
+    private int root = NULL;
+    private int freeList = NULL;
+    private int nodeCount = 0;
+
+    // Traversal stack reused by the queries
+    private int[] stack = new int[64];
+
+    /**
+     * Construct an empty tree
+     */
+    public AABBTree()
+    {
+        this.grow(16);
+    }
+
+    //**********************************************************************
+    // BroadPhase
+    //**********************************************************************
+
+    /**
+     * Insert a leaf for a polygon
+     *
+     * @param p: The added polygon
+     */
+    public void add(Polygon p)
+    {
+        int leaf = this.allocateNode();
+        this.item[leaf] = p;
+        this.setFat(leaf, p);
+        this.insertLeaf(leaf);
+        p.proxy = leaf;
+    }
+
+    /**
+     * Remove a polygon's leaf
+     *
+     * @param p: The removed polygon
+     */
+    public void remove(Polygon p)
+    {
+        int leaf = p.proxy;
+        this.removeLeaf(leaf);
+        this.freeNode(leaf);
+        p.proxy = NULL;
+    }
+
+    /**
+     * Reinsert a polygon's leaf if its bounding
+     * circle has left the fattened box
+     *
+     * @param p: The changed polygon
+     */
+    public void moved(Polygon p)
+    {
+        int leaf = p.proxy;
+        final float r = Math.abs(p.getRadius());
+        final float x = p.center.getFloatX();
+        final float y = p.center.getFloatY();
+        if(this.minX[leaf] <= x - r && this.minY[leaf] <= y - r &&
+           this.maxX[leaf] >= x + r && this.maxY[leaf] >= y + r)
+        {
+            return;
+        }
+        this.removeLeaf(leaf);
+        this.setFat(leaf, p);
+        this.insertLeaf(leaf);
+    }
+
+    /**
+     * Find every pair of polygons whose bounding boxes
+     * overlap and that are not both asleep, by querying
+     * the tree with each awake polygon's box
+     *
+     * @param polygons: Polygons to pair up
+     * @param out: Receives index pairs (a, b) with a < b
+     */
+    public void findPairs(ArrayList<Polygon> polygons, PairList out)
+    {
+        for(int i = 0; i < polygons.size(); i++)
+        {
+            Polygon p = polygons.get(i);
+            if(p.asleep)
+            {
+                continue;
+            }
+            final float x0 = p.getMinX();
+            final float y0 = p.getMinY();
+            final float x1 = p.getMaxX();
+            final float y1 = p.getMaxY();
+            int top = this.push(0, this.root);
+            while(top > 0)
+            {
+                int node = this.stack[--top];
+                if(node == NULL || !this.overlaps(node, x0, y0, x1, y1))
+                {
+                    continue;
+                }
+                if(this.isLeaf(node))
+                {
+                    // Awake pairs are found from both ends, so
+                    // only keep them from the lower index
+                    Polygon q = this.item[node];
+                    if((q.asleep || q.index > p.index) &&
+                       x0 <= q.getMaxX() && q.getMinX() <= x1 &&
+                       y0 <= q.getMaxY() && q.getMinY() <= y1)
+                    {
+                        out.add(Math.min(p.index, q.index), Math.max(p.index, q.index));
+                    }
+                }
+                else
+                {
+                    top = this.push(top, this.child1[node]);
+                    top = this.push(top, this.child2[node]);
+                }
+            }
+        }
+    }
+
+    //**********************************************************************
+    // Queries
+    //**********************************************************************
+
+    /**
+     * Find the polygons whose bounding box
+     * overlaps a rectangle
+     *
+     * @param x0: Left edge
+     * @param y0: Bottom edge
+     * @param x1: Right edge
+     * @param y1: Top edge
+     * @param out: Receives the polygons
+     */
+    public void query(float x0, float y0, float x1, float y1, ArrayList<Polygon> out)
+    {
+        int top = this.push(0, this.root);
+        while(top > 0)
+        {
+            int node = this.stack[--top];
+            if(node == NULL || !this.overlaps(node, x0, y0, x1, y1))
+            {
+                continue;
+            }
+            if(this.isLeaf(node))
+            {
+                Polygon q = this.item[node];
+                if(x0 <= q.getMaxX() && q.getMinX() <= x1 &&
+                   y0 <= q.getMaxY() && q.getMinY() <= y1)
+                {
+                    out.add(q);
+                }
+            }
+            else
+            {
+                top = this.push(top, this.child1[node]);
+                top = this.push(top, this.child2[node]);
+            }
+        }
+    }
+
+    /**
+     * Find the polygons whose bounding box
+     * contains a point
+     *
+     * @param x: X coordinate
+     * @param y: Y coordinate
+     * @param out: Receives the polygons
+     */
+    public void query(float x, float y, ArrayList<Polygon> out)
+    {
+        this.query(x, y, x, y, out);
+    }
+
+    /**
+     * Find the first polygon a segment runs into
+     *
+     * @param x0: Segment start x
+     * @param y0: Segment start y
+     * @param x1: Segment end x
+     * @param y1: Segment end y
+     *
+     * @return The polygon whose side the segment
+     * crosses first, or null
+     */
+    public Polygon raycast(float x0, float y0, float x1, float y1)
+    {
+        final float dx = x1 - x0;
+        final float dy = y1 - y0;
+        float best = 1f;
+        Polygon hit = null;
+
+        int top = this.push(0, this.root);
+        while(top > 0)
+        {
+            int node = this.stack[--top];
+            if(node == NULL)
+            {
+                continue;
+            }
+
+            // Skip boxes the segment misses or
+            // only reaches past the best hit
+            float enter = this.slab(node, x0, y0, dx, dy, best);
+            if(enter < 0f)
+            {
+                continue;
+            }
+
+            if(this.isLeaf(node))
+            {
+                Polygon q = this.item[node];
+                float t = q.raycast(x0, y0, x0 + dx*best, y0 + dy*best);
+                if(t >= 0f)
+                {
+                    best *= t;
+                    hit = q;
+                }
+            }
+            else
+            {
+                top = this.push(top, this.child1[node]);
+                top = this.push(top, this.child2[node]);
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * @return Height of the tree, -1 when empty
+     */
+    public int getHeight()
+    {
+        return (this.root == NULL) ? -1 : this.height[this.root];
+    }
+
+    /**
+     * @return Number of nodes in use
+     */
+    public int getNodeCount()
+    {
+        return this.nodeCount;
+    }
+
+    //**********************************************************************
+    // Tree maintenance
+    //**********************************************************************
+
+    /**
+     * Hang a leaf next to the sibling that grows
+     * the tree the least, then refit upwards
+     *
+     * @param leaf: Leaf to insert
+     */
+    private void insertLeaf(int leaf)
+    {
+        if(this.root == NULL)
+        {
+            this.root = leaf;
+            this.parent[leaf] = NULL;
+            return;
+        }
+
+        // Walk down picking the cheaper child
+        int index = this.root;
+        while(!this.isLeaf(index))
+        {
+            int c1 = this.child1[index];
+            int c2 = this.child2[index];
+
+            float area = this.perimeter(index);
+            float combined = this.combinedPerimeter(index, leaf);
+
+            // Cost of pairing the leaf with this node
+            float cost = 2f * combined;
+
+            // Cost every ancestor pays to grow around the leaf
+            float inherited = 2f * (combined - area);
+
+            float cost1 = this.descendCost(c1, leaf) + inherited;
+            float cost2 = this.descendCost(c2, leaf) + inherited;
+            if(cost < cost1 && cost < cost2)
+            {
+                break;
+            }
+            index = (cost1 < cost2) ? c1 : c2;
+        }
+
+        // Join the leaf and the sibling under a new parent
+        int sibling = index;
+        int oldParent = this.parent[sibling];
+        int newParent = this.allocateNode();
+        this.parent[newParent] = oldParent;
+        this.item[newParent] = null;
+        this.height[newParent] = this.height[sibling] + 1;
+        this.combine(newParent, sibling, leaf);
+        this.child1[newParent] = sibling;
+        this.child2[newParent] = leaf;
+        this.parent[sibling] = newParent;
+        this.parent[leaf] = newParent;
+        if(oldParent != NULL)
+        {
+            this.replaceChild(oldParent, sibling, newParent);
+        }
+        else
+        {
+            this.root = newParent;
+        }
+
+        this.refit(this.parent[leaf]);
+    }
+
+    /**
+     * Unhook a leaf, letting its sibling take
+     * the place of their parent
+     *
+     * @param leaf: Leaf to remove
+     */
+    private void removeLeaf(int leaf)
+    {
+        if(leaf == this.root)
+        {
+            this.root = NULL;
+            return;
+        }
+
+        int p = this.parent[leaf];
+        int grand = this.parent[p];
+        int sibling = (this.child1[p] == leaf) ? this.child2[p] : this.child1[p];
+        if(grand != NULL)
+        {
+            this.replaceChild(grand, p, sibling);
+            this.parent[sibling] = grand;
+            this.freeNode(p);
+            this.refit(grand);
+        }
+        else
+        {
+            this.root = sibling;
+            this.parent[sibling] = NULL;
+            this.freeNode(p);
+        }
+    }
+
+    /**
+     * Rebalance, resize and reheight every node
+     * from index up to the root
+     *
+     * @param index: First node to fix
+     */
+    private void refit(int index)
+    {
+        while(index != NULL)
+        {
+            index = this.balance(index);
+            int c1 = this.child1[index];
+            int c2 = this.child2[index];
+            this.height[index] = 1 + Math.max(this.height[c1], this.height[c2]);
+            this.combine(index, c1, c2);
+            index = this.parent[index];
+        }
+    }
+
+    /**
+     * Rotate the taller grandchild up if the two
+     * subtrees of a node differ in height by more
+     * than one
+     *
+     * @param a: Node to balance
+     *
+     * @return Node now in a's place
+     */
+    private int balance(int a)
+    {
+        if(this.isLeaf(a) || this.height[a] < 2)
+        {
+            return a;
+        }
+
+        int b = this.child1[a];
+        int c = this.child2[a];
+        int diff = this.height[c] - this.height[b];
+
+        if(diff > 1)
+        {
+            this.rotateUp(a, c, b, false);
+            return c;
+        }
+        if(diff < -1)
+        {
+            this.rotateUp(a, b, c, true);
+            return b;
+        }
+        return a;
+    }
+
+    /**
+     * Swap a child above its parent. The child keeps
+     * its taller grandchild and hands the shorter one
+     * down to the old parent
+     *
+     * @param a: The parent
+     * @param up: Child moving up
+     * @param other: The parent's other child
+     * @param upIsFirst: If up was the parent's first child
+     */
+    private void rotateUp(int a, int up, int other, boolean upIsFirst)
+    {
+        int f = this.child1[up];
+        int g = this.child2[up];
+
+        this.child1[up] = a;
+        this.parent[up] = this.parent[a];
+        this.parent[a] = up;
+        if(this.parent[up] != NULL)
+        {
+            this.replaceChild(this.parent[up], a, up);
+        }
+        else
+        {
+            this.root = up;
+        }
+
+        int keep = (this.height[f] > this.height[g]) ? f : g;
+        int give = (keep == f) ? g : f;
+        this.child2[up] = keep;
+        if(upIsFirst)
+        {
+            this.child1[a] = give;
+        }
+        else
+        {
+            this.child2[a] = give;
+        }
+        this.parent[give] = a;
+
+        this.combine(a, other, give);
+        this.combine(up, a, keep);
+        this.height[a] = 1 + Math.max(this.height[other], this.height[give]);
+        this.height[up] = 1 + Math.max(this.height[a], this.height[keep]);
+    }
+
+    //**********************************************************************
+    // Helpers
+    //**********************************************************************
+
+    /**
+     * Cost of pushing a leaf down into a child
+     */
+    private float descendCost(int child, int leaf)
+    {
+        float combined = this.combinedPerimeter(child, leaf);
+        return this.isLeaf(child) ? combined : combined - this.perimeter(child);
+    }
+
+    /**
+     * Store a fattened box around a polygon's bounding circle
+     */
+    private void setFat(int node, Polygon p)
+    {
+        float r = Math.abs(p.getRadius());
+        float x = p.center.getFloatX();
+        float y = p.center.getFloatY();
+        float m = 2f * r * MARGIN_RATIO + MARGIN_MIN;
+        this.minX[node] = x - r - m;
+        this.minY[node] = y - r - m;
+        this.maxX[node] = x + r + m;
+        this.maxY[node] = y + r + m;
+    }
+
+    /**
+     * Set a node's box to the union of two others
+     */
+    private void combine(int node, int a, int b)
+    {
+        this.minX[node] = Math.min(this.minX[a], this.minX[b]);
+        this.minY[node] = Math.min(this.minY[a], this.minY[b]);
+        this.maxX[node] = Math.max(this.maxX[a], this.maxX[b]);
+        this.maxY[node] = Math.max(this.maxY[a], this.maxY[b]);
+    }
+
+    /**
+     * @return Perimeter of a node's box
+     */
+    private float perimeter(int node)
+    {
+        return 2f * ((this.maxX[node] - this.minX[node]) + (this.maxY[node] - this.minY[node]));
+    }
+
+    /**
+     * @return Perimeter of the union of two node boxes
+     */
+    private float combinedPerimeter(int a, int b)
+    {
+        float w = Math.max(this.maxX[a], this.maxX[b]) - Math.min(this.minX[a], this.minX[b]);
+        float h = Math.max(this.maxY[a], this.maxY[b]) - Math.min(this.minY[a], this.minY[b]);
+        return 2f * (w + h);
+    }
+
+    /**
+     * @return If a node's box overlaps a rectangle
+     */
+    private boolean overlaps(int node, float x0, float y0, float x1, float y1)
+    {
+        return this.minX[node] <= x1 && x0 <= this.maxX[node]
+            && this.minY[node] <= y1 && y0 <= this.maxY[node];
+    }
+
+    /**
+     * Clip a segment against a node's box
+     *
+     * @return Fraction where the segment enters the
+     * box, or -1 if it misses before maxT
+     */
+    private float slab(int node, float x0, float y0, float dx, float dy, float maxT)
+    {
+        float tmin = 0f;
+        float tmax = maxT;
+        if(dx == 0f)
+        {
+            if(x0 < this.minX[node] || x0 > this.maxX[node]) return -1f;
+        }
+        else
+        {
+            float t1 = (this.minX[node] - x0) / dx;
+            float t2 = (this.maxX[node] - x0) / dx;
+            tmin = Math.max(tmin, Math.min(t1, t2));
+            tmax = Math.min(tmax, Math.max(t1, t2));
+        }
+        if(dy == 0f)
+        {
+            if(y0 < this.minY[node] || y0 > this.maxY[node]) return -1f;
+        }
+        else
+        {
+            float t1 = (this.minY[node] - y0) / dy;
+            float t2 = (this.maxY[node] - y0) / dy;
+            tmin = Math.max(tmin, Math.min(t1, t2));
+            tmax = Math.min(tmax, Math.max(t1, t2));
+        }
+        return (tmin <= tmax) ? tmin : -1f;
+    }
+
+    /**
+     * Point one of a parent's children somewhere else
+     */
+    private void replaceChild(int p, int from, int to)
+    {
+        if(this.child1[p] == from)
+        {
+            this.child1[p] = to;
+        }
+        else
+        {
+            this.child2[p] = to;
+        }
+    }
+
+    /**
+     * @return If a node is a leaf
+     */
+    private boolean isLeaf(int node)
+    {
+        return this.child1[node] == NULL;
+    }
+
+    /**
+     * Push onto the traversal stack
+     *
+     * @return New stack size
+     */
+    private int push(int top, int node)
+    {
+        if(top == this.stack.length)
+        {
+            this.stack = Arrays.copyOf(this.stack, top * 2);
+        }
+        this.stack[top] = node;
+        return top + 1;
+    }
+
+    /**
+     * Take a node off the free list
+     */
+    private int allocateNode()
+    {
+        if(this.freeList == NULL)
+        {
+            this.grow(this.parent.length * 2);
+        }
+        int node = this.freeList;
+        this.freeList = this.parent[node];
+        this.parent[node] = NULL;
+        this.child1[node] = NULL;
+        this.child2[node] = NULL;
+        this.height[node] = 0;
+        this.nodeCount++;
+        return node;
+    }
+
+    /**
+     * Put a node back on the free list
+     */
+    private void freeNode(int node)
+    {
+        this.item[node] = null;
+        this.parent[node] = this.freeList;
+        this.height[node] = -1;
+        this.freeList = node;
+        this.nodeCount--;
+    }
+
+    /**
+     * Grow the node arrays, chaining the new
+     * nodes onto the free list
+     */
+    private void grow(int capacity)
+    {
+        int old = (this.parent == null) ? 0 : this.parent.length;
+        if(old == 0)
+        {
+            this.minX = new float[capacity];
+            this.minY = new float[capacity];
+            this.maxX = new float[capacity];
+            this.maxY = new float[capacity];
+            this.parent = new int[capacity];
+            this.child1 = new int[capacity];
+            this.child2 = new int[capacity];
+            this.height = new int[capacity];
+            this.item = new Polygon[capacity];
+        }
+        else
+        {
+            this.minX = Arrays.copyOf(this.minX, capacity);
+            this.minY = Arrays.copyOf(this.minY, capacity);
+            this.maxX = Arrays.copyOf(this.maxX, capacity);
+            this.maxY = Arrays.copyOf(this.maxY, capacity);
+            this.parent = Arrays.copyOf(this.parent, capacity);
+            this.child1 = Arrays.copyOf(this.child1, capacity);
+            this.child2 = Arrays.copyOf(this.child2, capacity);
+            this.height = Arrays.copyOf(this.height, capacity);
+            this.item = Arrays.copyOf(this.item, capacity);
+        }
+        for(int i = old; i < capacity - 1; i++)
+        {
+            this.parent[i] = i + 1;
+            this.height[i] = -1;
+        }
+        this.parent[capacity - 1] = this.freeList;
+        this.height[capacity - 1] = -1;
+        this.freeList = old;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * A roster held on the heap.
+ *
+ * Sides and colors sit in primitive arrays, and names
+ * are found through an open addressing hash table of
+ * ids, so every lookup is O(1). Nothing changes after
+ * construction.
+ */
+final class ArrayRoster implements Roster
+{
+    // Node data by id
+    private final String[] names;
+    private final int[] sides;
+    private final int[] colors;
+    private final int size;
+
+    // Hash slots holding id + 1, or 0 when empty, and the
+    // hash of each slot's name so only a slot with the
+    // same hash needs a string compare. Always at most
+    // half full so probes stay short
+    private final int[] table;
+    private final int[] hashes;
+    private final int mask;
+
+    /**
+     * Construct from node columns. The arrays are kept,
+     * not copied, so do not change them afterwards
+     *
+     * @param names: Name of each node
+     * @param sides: Number of sides of each node
+     * @param colors: RGB color of each node
+     * @param size: Number of nodes in the arrays
+     */
+    public ArrayRoster(String[] names, int[] sides, int[] colors, int size)
+    {
+        this.names = names;
+        this.sides = sides;
+        this.colors = colors;
+        this.size = size;
+
+        int capacity = 16;
+        while(capacity < 2 * size)
+        {
+            capacity <<= 1;
+        }
+        this.table = new int[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        // Later duplicates of a name are left out of
+        // the index, so the name finds its first id
+        for(int id = 0; id < size; id++)
+        {
+            int slot = this.find(names[id]);
+            if(this.table[slot] == 0)
+            {
+                this.table[slot] = id + 1;
+                this.hashes[slot] = names[id].hashCode();
+            }
+        }
+    }
+
+    /**
+     * @return Number of nodes
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Look up a node by name
+     *
+     * @param name: Name to find
+     *
+     * @return Id of the node, or -1 if there is none
+     */
+    public int getId(String name)
+    {
+        return this.table[this.find(name)] - 1;
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return Name of the node
+     */
+    public String getName(int id)
+    {
+        return this.names[id];
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return Number of sides of the node
+     */
+    public int getSides(int id)
+    {
+        return this.sides[id];
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return RGB color of the node
+     */
+    public int getColor(int id)
+    {
+        return this.colors[id];
+    }
+
+    /**
+     * Find the slot holding a name, or the
+     * empty slot where it would go
+     */
+    private int find(String name)
+    {
+        int hash = name.hashCode();
+        int slot = mix(hash) & this.mask;
+        while(true)
+        {
+            int id = this.table[slot] - 1;
+            if(id == -1 || (this.hashes[slot] == hash && this.names[id].equals(name)))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Spread the bits of a hash code, since linear
+     * probing suffers when nearby codes cluster.
+     * MappedRoster files store slots placed by it, so
+     * it must never change
+     */
+    static int mix(int h)
+    {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
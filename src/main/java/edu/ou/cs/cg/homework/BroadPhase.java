@@ -0,0 +1,47 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+
+/**
+ * Finds pairs of polygons that might be touching,
+ * cheaply, so the exact side tests only run on those
+ *
+ * A PolygonCollection reports every add, remove and move
+ * so incremental structures can keep up; ones rebuilt on
+ * every query can ignore them
+ */
+interface BroadPhase
+{
+    /**
+     * Start tracking a polygon
+     *
+     * @param p: The added polygon
+     */
+    public void add(Polygon p);
+
+    /**
+     * Stop tracking a polygon
+     *
+     * @param p: The removed polygon
+     */
+    public void remove(Polygon p);
+
+    /**
+     * A tracked polygon moved, turned or changed size
+     *
+     * @param p: The changed polygon
+     */
+    public void moved(Polygon p);
+
+    /**
+     * Find every pair of polygons whose bounding boxes
+     * overlap and that are not both asleep
+     *
+     * @param polygons: Polygons to pair up
+     * @param out: Receives index pairs (a, b) with a < b
+     */
+    public void findPairs(ArrayList<Polygon> polygons, PairList out);
+}
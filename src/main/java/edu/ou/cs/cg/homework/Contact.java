@@ -0,0 +1,95 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * Describes how two overlapping polygons touch: which
+ * polygons, along which sides, where, and how deep
+ */
+class Contact
+{
+    // Most contact points between two convex polygons
+    public static final int MAX_POINTS = 2;
+
+    // Indices of the two polygons in their collection
+    public int first = -1;
+    public int second = -1;
+
+    // Unit normal pointing from the first
+    // polygon toward the second
+    public float normalX;
+    public float normalY;
+
+    // How far the polygons overlap along the normal
+    public float depth;
+
+    // Side of each polygon touching the other, or
+    // -1 for a single point polygon
+    public int firstEdge = -1;
+    public int secondEdge = -1;
+
+    // Where the polygons touch
+    public final float[] pointX = new float[MAX_POINTS];
+    public final float[] pointY = new float[MAX_POINTS];
+    public int pointCount = 0;
+
+    // Set when one polygon is entirely inside the other
+    public boolean firstContainsSecond;
+    public boolean secondContainsFirst;
+
+    /**
+     * Reset to no contact, keeping the polygon indices
+     */
+    public void clear()
+    {
+        this.normalX = 0f;
+        this.normalY = 0f;
+        this.depth = 0f;
+        this.firstEdge = -1;
+        this.secondEdge = -1;
+        this.pointCount = 0;
+        this.firstContainsSecond = false;
+        this.secondContainsFirst = false;
+    }
+
+    /**
+     * Add a contact point, ignoring any past MAX_POINTS
+     *
+     * @param x: X coordinate
+     * @param y: Y coordinate
+     */
+    public void addPoint(float x, float y)
+    {
+        if(this.pointCount < MAX_POINTS)
+        {
+            this.pointX[this.pointCount] = x;
+            this.pointY[this.pointCount] = y;
+            this.pointCount++;
+        }
+    }
+
+    /**
+     * Copy another contact into this one
+     *
+     * @param c: Contact to copy
+     */
+    public void set(Contact c)
+    {
+        this.first = c.first;
+        this.second = c.second;
+        this.normalX = c.normalX;
+        this.normalY = c.normalY;
+        this.depth = c.depth;
+        this.firstEdge = c.firstEdge;
+        this.secondEdge = c.secondEdge;
+        this.pointCount = c.pointCount;
+        for(int i = 0; i < c.pointCount; i++)
+        {
+            this.pointX[i] = c.pointX[i];
+            this.pointY[i] = c.pointY[i];
+        }
+        this.firstContainsSecond = c.firstContainsSecond;
+        this.secondContainsFirst = c.secondContainsFirst;
+    }
+}
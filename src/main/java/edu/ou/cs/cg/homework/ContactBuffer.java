@@ -0,0 +1,86 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.Arrays;
+
+/**
+ * A pool of contacts filled once per frame. Clearing keeps
+ * every Contact object, so a scene stops allocating once
+ * the buffer has grown to its busiest frame
+ *
+ * Fill it by taking the next free contact with acquire(),
+ * writing into it, and keeping it with commit(). A contact
+ * that is acquired but not committed is reused next time
+ */
+class ContactBuffer
+{
+    // Pooled contacts, the first size of them in use
+    private Contact[] contacts;
+
+    // Number of committed contacts
+    private int size = 0;
+
+    /**
+     * Construct an empty buffer
+     */
+    public ContactBuffer()
+    {
+        this.contacts = new Contact[16];
+    }
+
+    /**
+     * Get the next free contact, growing the pool if needed
+     *
+     * @return A contact to fill in
+     */
+    public Contact acquire()
+    {
+        if(this.size == this.contacts.length)
+        {
+            this.contacts = Arrays.copyOf(this.contacts, this.size * 2);
+        }
+        Contact c = this.contacts[this.size];
+        if(c == null)
+        {
+            c = new Contact();
+            this.contacts[this.size] = c;
+        }
+        return c;
+    }
+
+    /**
+     * Keep the contact last handed out by acquire()
+     */
+    public void commit()
+    {
+        this.size++;
+    }
+
+    /**
+     * @param i: Contact index
+     *
+     * @return Contact i
+     */
+    public Contact get(int i)
+    {
+        return this.contacts[i];
+    }
+
+    /**
+     * @return Number of contacts
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Empty the buffer, keeping its contacts
+     */
+    public void clear()
+    {
+        this.size = 0;
+    }
+}
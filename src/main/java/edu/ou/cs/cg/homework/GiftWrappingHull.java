@@ -0,0 +1,106 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * The Jarvis march the collection has always used,
+ * O(n*h), kept for comparison.
+ *
+ * Starts at the lowest of the leftmost points and keeps
+ * wrapping to the point that every other point lies left
+ * of, taking the farthest of any in a line with it so
+ * points along a side are left out. Points on the same
+ * spot as the current one are skipped, since every other
+ * point is in a line with them.
+ */
+class GiftWrappingHull implements HullAlgorithm
+{
+    /**
+     * Find the hull of the first n points
+     *
+     * @param xs: X coordinates
+     * @param ys: Y coordinates
+     * @param n: Number of points
+     * @param out: Receives the indices of the hull points in
+     * counter clockwise order, needs room for n of them
+     *
+     * @return Number of hull points written to out
+     */
+    public int compute(float[] xs, float[] ys, int n, int[] out)
+    {
+        if(n < 3)
+        {
+            for(int i = 0; i < n; i++)
+            {
+                out[i] = i;
+            }
+            return n;
+        }
+
+        // Get the leftmost point, lowest on ties
+        int leftMost = 0;
+        for(int i = 1; i < n; i++)
+        {
+            if(xs[i] < xs[leftMost] || (xs[i] == xs[leftMost] && ys[i] < ys[leftMost]))
+            {
+                leftMost = i;
+            }
+        }
+
+        int p = leftMost;
+        int k = 0;
+        while(k < n)
+        {
+            out[k++] = p;
+
+            // Find the next point that is most ccw
+            int q = -1;
+            for(int i = 0; i < n; i++)
+            {
+                if(same(xs, ys, p, i))
+                {
+                    continue;
+                }
+                if(q == -1)
+                {
+                    q = i;
+                    continue;
+                }
+                double turn = Predicates.orient2d(xs[p], ys[p], xs[q], ys[q], xs[i], ys[i]);
+                if(turn < 0.0 || (turn == 0.0 && distance(xs, ys, p, i) > distance(xs, ys, p, q)))
+                {
+                    q = i;
+                }
+            }
+
+            // Exit when every point is on one spot
+            // or we end up where we started
+            if(q == -1 || same(xs, ys, q, leftMost))
+            {
+                break;
+            }
+            p = q;
+        }
+
+        return k;
+    }
+
+    /**
+     * @return If two points are on the same spot
+     */
+    private static boolean same(float[] xs, float[] ys, int a, int b)
+    {
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    /**
+     * @return Squared distance between two points
+     */
+    private static double distance(float[] xs, float[] ys, int a, int b)
+    {
+        double dx = (double)xs[a] - xs[b];
+        double dy = (double)ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+}
@@ -18,6 +18,8 @@ package edu.ou.cs.cg.homework;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import javax.swing.*;
 import javax.media.opengl.*;
@@ -67,6 +69,26 @@ public final class Homework05
 				}
 			});
 
-		View view = new View(canvas);
+		// Pass -Dhw05.seed=N to reproduce a scene
+		long			seed = Long.getLong("hw05.seed", System.nanoTime());
+
+		// Pass a roster file, text or binary, to place its nodes
+		// instead of the built in ones. See RosterConverter.
+		Roster			roster = Network.getRoster();
+
+		if (args.length > 0)
+		{
+			try
+			{
+				roster = Network.openRoster(Paths.get(args[0]));
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not load " + args[0] + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+
+		View view = new View(canvas, seed, roster);
 	}
 }
@@ -0,0 +1,24 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * Computes the convex hull of a set of points
+ * held in primitive columns
+ */
+interface HullAlgorithm
+{
+    /**
+     * Find the hull of the first n points
+     *
+     * @param xs: X coordinates
+     * @param ys: Y coordinates
+     * @param n: Number of points
+     * @param out: Receives the indices of the hull points in
+     * counter clockwise order, needs room for n of them
+     *
+     * @return Number of hull points written to out
+     */
+    public int compute(float[] xs, float[] ys, int n, int[] out);
+}
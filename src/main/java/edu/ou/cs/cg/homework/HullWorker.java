@@ -0,0 +1,166 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Computes hulls on a background thread so the render
+ * thread never waits on one.
+ *
+ * At most one hull is computed at a time. The caller hands
+ * over its point columns with start() and must leave them
+ * alone until isBusy() turns false. The last finished hull
+ * and the collection version it was built from can be read
+ * from any thread at any time.
+ */
+final class HullWorker
+{
+    // Nothing computed yet
+    private static final Result EMPTY = new Result(Collections.<Point>emptyList(), -1);
+
+    // Single daemon thread, made on first use
+    private ExecutorService executor = null;
+
+    // Hull being computed, or null
+    private Future<?> pending = null;
+
+    // Hull indices for the worker thread
+    private int[] index = new int[16];
+
+    // Last finished hull
+    private volatile Result result = EMPTY;
+
+    /**
+     * @return If a hull is being computed
+     */
+    public boolean isBusy()
+    {
+        return this.pending != null && !this.pending.isDone();
+    }
+
+    /**
+     * Start computing a hull. Must not be busy
+     *
+     * @param algorithm: Algorithm to run
+     * @param xs: X coordinates, not to be touched until done
+     * @param ys: Y coordinates, not to be touched until done
+     * @param n: Number of points
+     * @param version: Collection version the points are from
+     */
+    public void start(final HullAlgorithm algorithm, final float[] xs, final float[] ys,
+                      final int n, final int version)
+    {
+        if(this.executor == null)
+        {
+            this.executor = Executors.newSingleThreadExecutor(new ThreadFactory()
+            {
+                public Thread newThread(Runnable r)
+                {
+                    Thread t = new Thread(r, "hull");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        if(this.index.length < n)
+        {
+            this.index = new int[Math.max(n, this.index.length * 2)];
+        }
+        this.pending = this.executor.submit(new Runnable()
+        {
+            public void run()
+            {
+                List<Point> hull = build(algorithm, xs, ys, n, HullWorker.this.index);
+                HullWorker.this.result = new Result(hull, version);
+            }
+        });
+    }
+
+    /**
+     * Wait for the hull being computed, if any
+     */
+    public void await()
+    {
+        if(this.pending == null)
+        {
+            return;
+        }
+        try
+        {
+            this.pending.get();
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch(ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return Points of the last finished hull
+     */
+    public List<Point> getHull()
+    {
+        return this.result.hull;
+    }
+
+    /**
+     * @return Collection version of the last
+     * finished hull, or -1 if there is none
+     */
+    public int getVersion()
+    {
+        return this.result.version;
+    }
+
+    /**
+     * Run a hull algorithm and copy out the hull points
+     *
+     * @param algorithm: Algorithm to run
+     * @param xs: X coordinates
+     * @param ys: Y coordinates
+     * @param n: Number of points
+     * @param index: Scratch for hull indices, room for n
+     *
+     * @return Read only copies of the points on the hull
+     */
+    static List<Point> build(HullAlgorithm algorithm, float[] xs, float[] ys, int n, int[] index)
+    {
+        int count = algorithm.compute(xs, ys, n, index);
+        ArrayList<Point> points = new ArrayList<Point>(count);
+        for(int i = 0; i < count; i++)
+        {
+            int j = index[i];
+            points.add(new Point(xs[j], ys[j]));
+        }
+        return Collections.unmodifiableList(points);
+    }
+
+    /**
+     * A finished hull and the version it came from,
+     * published together so they always match
+     */
+    private static final class Result
+    {
+        final List<Point> hull;
+        final int version;
+
+        Result(List<Point> hull, int version)
+        {
+            this.hull = hull;
+            this.version = version;
+        }
+    }
+}
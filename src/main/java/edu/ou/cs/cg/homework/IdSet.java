@@ -0,0 +1,215 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * An ordered set of ids from 0 to capacity-1.
+ *
+ * Membership is a bitset, and a Fenwick tree over the same
+ * bits counts how many ids are in each prefix. Adding and
+ * removing update both, and finding the id after or before
+ * another counts up to it and then walks down the tree to
+ * the id with the next count, all in O(log n).
+ */
+final class IdSet
+{
+    // One bit per id
+    private final long[] bits;
+
+    // Fenwick tree, tree[i] counts the ids in
+    // (i - lowbit(i), i] of the 1 based positions
+    private final int[] tree;
+
+    // Highest power of two at most capacity, where
+    // the walk down the tree starts
+    private final int top;
+
+    private final int capacity;
+    private int size;
+
+    /**
+     * Construct a set
+     *
+     * @param capacity: Ids run from 0 to capacity-1
+     * @param full: If every id starts in the set
+     */
+    public IdSet(int capacity, boolean full)
+    {
+        this.capacity = capacity;
+        this.bits = new long[(capacity + 63) >>> 6];
+        this.tree = new int[capacity + 1];
+        this.top = Integer.highestOneBit(Math.max(capacity, 1));
+        if(!full)
+        {
+            return;
+        }
+
+        // Fill the tree in one pass, each node passing
+        // its count on to its parent
+        for(int i = 1; i <= capacity; i++)
+        {
+            this.tree[i]++;
+            int parent = i + (i & -i);
+            if(parent <= capacity)
+            {
+                this.tree[parent] += this.tree[i];
+            }
+        }
+        for(int i = 0; i < this.bits.length; i++)
+        {
+            this.bits[i] = -1L;
+        }
+        if((capacity & 63) != 0)
+        {
+            this.bits[this.bits.length - 1] = (1L << capacity) - 1;
+        }
+        this.size = capacity;
+    }
+
+    /**
+     * @return Number of ids in the set
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * @param id: Id to check
+     *
+     * @return If the id is in the set
+     */
+    public boolean contains(int id)
+    {
+        return (this.bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Put an id in the set
+     *
+     * @param id: Id to add
+     *
+     * @return If it was not already there
+     */
+    public boolean add(int id)
+    {
+        if(this.contains(id))
+        {
+            return false;
+        }
+        this.bits[id >>> 6] |= 1L << id;
+        this.update(id, 1);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Take an id out of the set
+     *
+     * @param id: Id to remove
+     *
+     * @return If it was there
+     */
+    public boolean remove(int id)
+    {
+        if(!this.contains(id))
+        {
+            return false;
+        }
+        this.bits[id >>> 6] &= ~(1L << id);
+        this.update(id, -1);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * @return Lowest id in the set, or -1 if empty
+     */
+    public int first()
+    {
+        return (this.size == 0) ? -1 : this.select(0);
+    }
+
+    /**
+     * Find the id after another, wrapping around
+     *
+     * @param id: Id to start from, in the set or not
+     *
+     * @return Lowest id in the set above id, else the
+     * lowest in the set, or -1 if empty
+     */
+    public int next(int id)
+    {
+        if(this.size == 0)
+        {
+            return -1;
+        }
+        int below = this.rank(id + 1);
+        return this.select((below == this.size) ? 0 : below);
+    }
+
+    /**
+     * Find the id before another, wrapping around
+     *
+     * @param id: Id to start from, in the set or not
+     *
+     * @return Highest id in the set below id, else the
+     * highest in the set, or -1 if empty
+     */
+    public int previous(int id)
+    {
+        if(this.size == 0)
+        {
+            return -1;
+        }
+        int below = this.rank(id);
+        return this.select((below == 0) ? this.size - 1 : below - 1);
+    }
+
+    /**
+     * @param id: Id to count up to, from 0 to capacity
+     *
+     * @return Number of ids in the set below id
+     */
+    public int rank(int id)
+    {
+        int count = 0;
+        for(int i = Math.min(id, this.capacity); i > 0; i -= i & -i)
+        {
+            count += this.tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * @param k: Count from 0 to size-1
+     *
+     * @return The id with k ids in the set below it
+     */
+    public int select(int k)
+    {
+        int position = 0;
+        for(int step = this.top; step > 0; step >>= 1)
+        {
+            int next = position + step;
+            if(next <= this.capacity && this.tree[next] <= k)
+            {
+                position = next;
+                k -= this.tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Change the count of an id in the tree
+     */
+    private void update(int id, int delta)
+    {
+        for(int i = id + 1; i <= this.capacity; i += i & -i)
+        {
+            this.tree[i] += delta;
+        }
+    }
+}
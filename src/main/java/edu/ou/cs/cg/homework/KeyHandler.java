@@ -158,6 +158,10 @@ public final class KeyHandler extends KeyAdapter
 			case KeyEvent.VK_ENTER:
 				this.view.placeName();
 				break;
+			// Place every remaining name on P
+			case KeyEvent.VK_P:
+				this.view.placeAll();
+				break;
 		}
 
 		view.setOrigin(p);
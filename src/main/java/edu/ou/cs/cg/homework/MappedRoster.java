@@ -0,0 +1,404 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A roster read straight out of a memory mapped file.
+ *
+ * Opening maps the file and checks its header, each node's
+ * side count and name offset, and the hash table, so a
+ * corrupt file is refused rather than failing on lookup.
+ * Lookups read the mapped bytes, and nothing is copied onto
+ * the heap except the name strings handed out. The file is
+ * laid out, little endian, as
+ *
+ *     int magic, int version, int size, int slots
+ *     int sides[size]
+ *     int colors[size]
+ *     int offsets[size + 1]    start of each name in the heap
+ *     int table[slots]         id + 1 of each hash slot, or 0
+ *     int hashes[slots]        String.hashCode of each slot's name
+ *     byte heap[]              UTF-8 names, back to back
+ *
+ * The hash table is the same open addressing scheme the heap
+ * roster uses, built once by write() and at most half full.
+ * A mapping is limited to 2 GB.
+ */
+final class MappedRoster implements Roster
+{
+    // "ROST", and the layout version
+    static final int MAGIC = 0x524f5354;
+    static final int VERSION = 1;
+
+    // Bytes before the columns
+    private static final int HEADER = 16;
+
+    // The mapped file
+    private final ByteBuffer buffer;
+
+    // Number of nodes and hash slots less one
+    private final int size;
+    private final int mask;
+
+    // Where each section starts
+    private final int sidesAt;
+    private final int colorsAt;
+    private final int offsetsAt;
+    private final int tableAt;
+    private final int hashesAt;
+    private final int heapAt;
+
+    /**
+     * Construct over a mapped file whose header was checked
+     */
+    private MappedRoster(ByteBuffer buffer, int size, int slots)
+    {
+        this.buffer = buffer;
+        this.size = size;
+        this.mask = slots - 1;
+        this.sidesAt = HEADER;
+        this.colorsAt = this.sidesAt + 4 * size;
+        this.offsetsAt = this.colorsAt + 4 * size;
+        this.tableAt = this.offsetsAt + 4 * (size + 1);
+        this.hashesAt = this.tableAt + 4 * slots;
+        this.heapAt = this.hashesAt + 4 * slots;
+    }
+
+    /**
+     * Map a roster file
+     *
+     * @param path: File to map
+     *
+     * @return The roster in the file
+     *
+     * @throws IOException if the file cannot be
+     * read or is not a roster file
+     */
+    public static MappedRoster open(Path path) throws IOException
+    {
+        ByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException(path + " is too big to map");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if(buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException(path + " is not a roster file");
+        }
+        if(buffer.getInt(4) != VERSION)
+        {
+            throw new IOException(path + " has roster version " + buffer.getInt(4));
+        }
+        int size = buffer.getInt(8);
+        int slots = buffer.getInt(12);
+        long heapAt = HEADER + 4L * (3L * size + 1) + 8L * slots;
+        if(size < 0 || slots <= 0 || Integer.bitCount(slots) != 1 || heapAt > buffer.capacity())
+        {
+            throw new IOException(path + " has a broken roster header");
+        }
+        MappedRoster roster = new MappedRoster(buffer, size, slots);
+        if(heapAt + roster.offset(size) > buffer.capacity())
+        {
+            throw new IOException(path + " is cut short");
+        }
+
+        // Check every node and slot once here, so the
+        // accessors can stay plain reads. Names must not
+        // run backwards, and every slot must hold a real
+        // id with at least one empty, or a lookup of a
+        // missing name would never stop probing
+        if(roster.offset(0) < 0)
+        {
+            throw new IOException(path + " has a bad name offset for node 0");
+        }
+        for(int id = 0; id < size; id++)
+        {
+            if(!VertexTemplate.isValidSides(roster.getSides(id)))
+            {
+                throw new IOException(path + " has a bad side count for node " + id);
+            }
+            if(roster.offset(id + 1) < roster.offset(id))
+            {
+                throw new IOException(path + " has a bad name offset for node " + (id + 1));
+            }
+        }
+        int empty = 0;
+        for(int slot = 0; slot < slots; slot++)
+        {
+            int entry = roster.entry(slot);
+            if(entry < 0 || entry > size)
+            {
+                throw new IOException(path + " has a bad id in hash slot " + slot);
+            }
+            if(entry == 0)
+            {
+                empty++;
+            }
+        }
+        if(empty == 0)
+        {
+            throw new IOException(path + " has a full hash table");
+        }
+        return roster;
+    }
+
+    /**
+     * Check whether a file starts like a roster file
+     *
+     * @param path: File to check
+     *
+     * @return If it does
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean matches(Path path) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            int read = 0;
+            while(head.hasRemaining() && read != -1)
+            {
+                read = channel.read(head);
+            }
+            return !head.hasRemaining() && head.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Write any roster in the mapped format
+     *
+     * @param roster: Roster to write
+     * @param path: File to write, replaced if it exists
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Roster roster, Path path) throws IOException
+    {
+        final int size = roster.size();
+        int slots = 16;
+        while(slots < 2 * size)
+        {
+            slots <<= 1;
+        }
+        final int mask = slots - 1;
+
+        // Build the hash table, first id of a name wins
+        int[] table = new int[slots];
+        int[] hashes = new int[slots];
+        for(int id = 0; id < size; id++)
+        {
+            String name = roster.getName(id);
+            int hash = name.hashCode();
+            int slot = ArrayRoster.mix(hash) & mask;
+            while(table[slot] != 0 &&
+                  !(hashes[slot] == hash && roster.getName(table[slot] - 1).equals(name)))
+            {
+                slot = (slot + 1) & mask;
+            }
+            if(table[slot] == 0)
+            {
+                table[slot] = id + 1;
+                hashes[slot] = hash;
+            }
+        }
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                                                   StandardOpenOption.CREATE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer out = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(slots);
+            for(int id = 0; id < size; id++)
+            {
+                out = putInt(channel, out, roster.getSides(id));
+            }
+            for(int id = 0; id < size; id++)
+            {
+                out = putInt(channel, out, roster.getColor(id));
+            }
+            int offset = 0;
+            for(int id = 0; id < size; id++)
+            {
+                out = putInt(channel, out, offset);
+                offset += roster.getName(id).getBytes(StandardCharsets.UTF_8).length;
+            }
+            out = putInt(channel, out, offset);
+            for(int slot = 0; slot < slots; slot++)
+            {
+                out = putInt(channel, out, table[slot]);
+            }
+            for(int slot = 0; slot < slots; slot++)
+            {
+                out = putInt(channel, out, hashes[slot]);
+            }
+            for(int id = 0; id < size; id++)
+            {
+                byte[] name = roster.getName(id).getBytes(StandardCharsets.UTF_8);
+                for(byte b: name)
+                {
+                    if(!out.hasRemaining())
+                    {
+                        drain(channel, out);
+                    }
+                    out.put(b);
+                }
+            }
+            drain(channel, out);
+        }
+    }
+
+    /**
+     * @return Number of nodes
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Look up a node by name
+     *
+     * @param name: Name to find
+     *
+     * @return Id of the node, or -1 if there is none
+     */
+    public int getId(String name)
+    {
+        int hash = name.hashCode();
+        byte[] bytes = null;
+        int slot = ArrayRoster.mix(hash) & this.mask;
+        while(true)
+        {
+            int id = this.entry(slot) - 1;
+            if(id == -1)
+            {
+                return -1;
+            }
+            if(this.buffer.getInt(this.hashesAt + 4 * slot) == hash)
+            {
+                if(bytes == null)
+                {
+                    bytes = name.getBytes(StandardCharsets.UTF_8);
+                }
+                if(this.nameEquals(id, bytes))
+                {
+                    return id;
+                }
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return Name of the node, decoded from the file
+     */
+    public String getName(int id)
+    {
+        int from = this.offset(id);
+        byte[] bytes = new byte[this.offset(id + 1) - from];
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(this.heapAt + from);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return Number of sides of the node
+     */
+    public int getSides(int id)
+    {
+        return this.buffer.getInt(this.sidesAt + 4 * id);
+    }
+
+    /**
+     * @param id: Node id
+     *
+     * @return RGB color of the node
+     */
+    public int getColor(int id)
+    {
+        return this.buffer.getInt(this.colorsAt + 4 * id);
+    }
+
+    /**
+     * @return Id + 1 held in a hash slot, or 0 if empty
+     */
+    private int entry(int slot)
+    {
+        return this.buffer.getInt(this.tableAt + 4 * slot);
+    }
+
+    /**
+     * @return Start of name id in the name heap
+     */
+    private int offset(int id)
+    {
+        return this.buffer.getInt(this.offsetsAt + 4 * id);
+    }
+
+    /**
+     * @return If name id is exactly these UTF-8 bytes
+     */
+    private boolean nameEquals(int id, byte[] bytes)
+    {
+        int from = this.offset(id);
+        if(this.offset(id + 1) - from != bytes.length)
+        {
+            return false;
+        }
+        int at = this.heapAt + from;
+        for(int i = 0; i < bytes.length; i++)
+        {
+            if(this.buffer.get(at + i) != bytes[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add an int, writing the buffer out first if full
+     */
+    private static ByteBuffer putInt(FileChannel channel, ByteBuffer out, int value) throws IOException
+    {
+        if(out.remaining() < 4)
+        {
+            drain(channel, out);
+        }
+        return out.putInt(value);
+    }
+
+    /**
+     * Write out everything in the buffer and empty it
+     */
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException
+    {
+        out.flip();
+        while(out.hasRemaining())
+        {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
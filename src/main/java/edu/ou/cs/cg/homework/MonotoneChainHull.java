@@ -0,0 +1,143 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.Arrays;
+
+/**
+ * Andrew's monotone chain, O(n log n).
+ *
+ * Points are sorted by x then y, and the lower and upper
+ * hulls are each built in one pass, popping any point that
+ * does not make a left turn. The sort runs on longs holding
+ * an order preserving copy of the coordinate over the point
+ * index, so nothing is boxed.
+ */
+class MonotoneChainHull implements HullAlgorithm
+{
+    // Sort keys, reused between calls
+    private long[] keys = new long[16];
+
+    // Point indices in sorted order
+    private int[] order = new int[16];
+
+    // Hull under construction, which can briefly
+    // hold one more point than there are
+    private int[] stack = new int[17];
+
+    /**
+     * Find the hull of the first n points
+     *
+     * @param xs: X coordinates
+     * @param ys: Y coordinates
+     * @param n: Number of points
+     * @param out: Receives the indices of the hull points in
+     * counter clockwise order, needs room for n of them
+     *
+     * @return Number of hull points written to out
+     */
+    public int compute(float[] xs, float[] ys, int n, int[] out)
+    {
+        if(n < 3)
+        {
+            for(int i = 0; i < n; i++)
+            {
+                out[i] = i;
+            }
+            return n;
+        }
+        this.sort(xs, ys, n);
+
+        // Lower hull, left to right
+        int[] stack = this.stack;
+        int k = 0;
+        for(int i = 0; i < n; i++)
+        {
+            int p = this.order[i];
+            while(k >= 2 && orient(xs, ys, stack[k - 2], stack[k - 1], p) <= 0.0)
+            {
+                k--;
+            }
+            stack[k++] = p;
+        }
+
+        // Upper hull, right to left, leaving the
+        // last point off since it starts the lower
+        int lower = k + 1;
+        for(int i = n - 2; i >= 0; i--)
+        {
+            int p = this.order[i];
+            while(k >= lower && orient(xs, ys, stack[k - 2], stack[k - 1], p) <= 0.0)
+            {
+                k--;
+            }
+            stack[k++] = p;
+        }
+        System.arraycopy(stack, 0, out, 0, k - 1);
+        return k - 1;
+    }
+
+    /**
+     * Fill order with point indices sorted
+     * by x, breaking ties by y
+     */
+    private void sort(float[] xs, float[] ys, int n)
+    {
+        if(this.keys.length < n)
+        {
+            this.keys = new long[n];
+            this.order = new int[n];
+            this.stack = new int[n + 1];
+        }
+        for(int i = 0; i < n; i++)
+        {
+            this.keys[i] = ((long)sortable(xs[i]) << 32) | i;
+        }
+        Arrays.sort(this.keys, 0, n);
+
+        // Runs of equal x get sorted again by y
+        int start = 0;
+        while(start < n)
+        {
+            int hi = (int)(this.keys[start] >> 32);
+            int end = start + 1;
+            while(end < n && (int)(this.keys[end] >> 32) == hi)
+            {
+                end++;
+            }
+            if(end - start > 1)
+            {
+                for(int j = start; j < end; j++)
+                {
+                    int p = (int)this.keys[j];
+                    this.keys[j] = ((long)sortable(ys[p]) << 32) | p;
+                }
+                Arrays.sort(this.keys, start, end);
+            }
+            start = end;
+        }
+        for(int i = 0; i < n; i++)
+        {
+            this.order[i] = (int)this.keys[i];
+        }
+    }
+
+    /**
+     * @return Int that sorts the same as the float
+     */
+    private static int sortable(float f)
+    {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    /**
+     * @return Positive if a, b, c turn left,
+     * negative if right, 0 if in a line
+     */
+    private static double orient(float[] xs, float[] ys, int a, int b, int c)
+    {
+        return Predicates.orient2d(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+}
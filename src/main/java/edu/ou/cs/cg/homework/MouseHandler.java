@@ -17,7 +17,6 @@ package edu.ou.cs.cg.homework;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
-import java.util.Stack;
 
 //******************************************************************************
 
@@ -36,8 +35,8 @@ public final class MouseHandler extends MouseAdapter
 	// State (internal) variables
 	private final View	view;
 
-	// Keep track of transforms
-	private Stack<Point> transforms;
+	// Last point seen while dragging
+	private final Point last = new Point(0f, 0f);
 
 	// Denote the action based on the 
 	// click and movement patterns
@@ -84,9 +83,6 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mousePressed(MouseEvent e)
 	{
-		// When pressed, create new transform list
-		transforms = new Stack<Point>();
-
 		// Translate the click point
 		Point current = calcCoordinatesInView(e.getX(), e.getY());
 		Point2D.Double o = view.getOrigin();
@@ -97,7 +93,7 @@ public final class MouseHandler extends MouseAdapter
 		if(!view.contains(current) && !Utilities.isShiftDown(e))
 		{
 			current.translate((float)-o.getX(), (float)-o.getY());
-			transforms.push(current);
+			this.last.setLocation(current);
 			this.action = 0;
 		}
 		// Otherwise if shift isnt down and we click 
@@ -109,7 +105,7 @@ public final class MouseHandler extends MouseAdapter
 		// Otherwise we rotate
 		else
 		{
-			transforms.push(current);
+			this.last.setLocation(current);
 			this.action = 2;
 		}
 	}
@@ -126,47 +122,40 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mouseDragged(MouseEvent e)
 	{
-		// Translate the mouse position
-		Point2D.Double origin = this.view.getOrigin();
-		Point current = calcCoordinatesInView(e.getX(), e.getY());
+		// Translate the mouse position. Everything here
+		// runs per event so work out of scratch space
+		Scratch	scratch = Scratch.get();
+		double	ox = this.view.getOriginX();
+		double	oy = this.view.getOriginY();
+		Point current = calcCoordinatesInView(e.getX(), e.getY(), scratch.point(0));
 		if(this.action == 0)
 		{
 			// Look at the last point and translate
 			// The origin of the view using the vector
 			// between current position and the previous
-			Point last = transforms.peek();
-			Vector transVect = Point.subtract(last, current);
-			Point new_origin = new Point((float)origin.getX() - transVect.x, (float)origin.getY() - transVect.y);
-			this.view.setOrigin(new Point2D.Double(new_origin.getX(), new_origin.getY()));
-			transforms.push(current);
+			Vector transVect = Point.subtract(this.last, current, scratch.vector(0));
+			this.view.setOrigin(ox - transVect.x, oy - transVect.y);
+			this.last.setLocation(current);
 		}
 		else if(this.action == 1)
 		{
 			// Do the same translation as above,
 			// but only on a single polygon
-			Point2D.Double o = view.getOrigin();
-			current.setFloatX(current.getFloatX() + (float)o.getX());
-			current.setFloatY(current.getFloatY() + (float)o.getY());
+			current.translate((float)ox, (float)oy);
 			Polygon focused = view.getSelected();
-			Point center = focused.center;
-			Vector movement = Point.subtract(center, current);
+			Vector movement = Point.subtract(focused.center, current, scratch.vector(0));
 			focused.move(movement.x, movement.y);
 		}
 		else if(this.action == 2)
 		{
-			// Get the origin
-			Point o = new Point((float)view.getOrigin().getX(), (float)view.getOrigin().getY());
-			current.translate(-(float)o.getX(), -(float)o.getY());
-			// Get the polygon and save the center
+			current.translate(-(float)ox, -(float)oy);
+			// Get the polygon, it rotates about its center
 			Polygon focused = view.getSelected();
-			Point center = new Point(focused.center.getFloatX(), focused.center.getFloatY());
-			// Translate to the global origin
-			focused.move(-center.getFloatX(), -center.getFloatY());
+			Point center = focused.center;
 			// Use the vectors between current click point and the 
 			// last to get the angle to rotate
-			Point previous = transforms.peek();
-			Vector v1 = Point.subtract(center, current);
-			Vector v2 = Point.subtract(center, previous);
+			Vector v1 = Point.subtract(center, current, scratch.vector(0));
+			Vector v2 = Point.subtract(center, this.last, scratch.vector(1));
 			float costheta = Vector.dot(v1, v2) / (v1.getMagnitude() * v2.getMagnitude());
 			// If the cos is 1, we get NaN and bad
 			// things happen. This means it is small therefore
@@ -176,9 +165,7 @@ public final class MouseHandler extends MouseAdapter
 				double arccos = Math.acos(costheta);
 				focused.rotate(arccos);
 			}
-			// Move the polygon back
-			focused.move(center.getFloatX(), center.getFloatY());
-			transforms.push(current);
+			this.last.setLocation(current);
 		}
 	}
 
@@ -199,13 +186,19 @@ public final class MouseHandler extends MouseAdapter
 	//**********************************************************************
 
 	private Point	calcCoordinatesInView(int sx, int sy)
+	{
+		return calcCoordinatesInView(sx, sy, new Point(0f, 0f));
+	}
+
+	private Point	calcCoordinatesInView(int sx, int sy, Point out)
 	{
 		int				w = view.getWidth();
 		int				h = view.getHeight();
 		double			vx = (sx * 2.0) / w - 1.0;
 		double			vy = (sy * 2.0) / h - 1.0;
 
-		return new Point((float)vx, (float)-vy);
+		out.setLocation((float)vx, (float)-vy);
+		return out;
 	}
 }
 
@@ -0,0 +1,21 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * Exact tests a PolygonCollection can run
+ * on the pairs the broad phase finds
+ */
+enum NarrowPhase
+{
+    // Every side against every side. A single point
+    // polygon is tested by the segment its center travels.
+    // Misses one polygon sitting inside another
+    EDGES,
+
+    // Separating axis test, O(n+m) for convex polygons.
+    // Catches containment and fills in depth and normal.
+    // A single point polygon is tested where it sits
+    SAT
+}
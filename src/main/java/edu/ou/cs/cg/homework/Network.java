@@ -16,6 +16,8 @@ package edu.ou.cs.cg.homework;
 
 //import java.lang.*;
 import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
 
 //******************************************************************************
 
@@ -107,6 +109,9 @@ public final class Network
 		new Color(0xa2c2f2),
 	};
 
+	// The arrays above, indexed by name. Ids match array positions.
+	private static final Roster		ROSTER = buildRoster();
+
 	//**********************************************************************
 	// Public Class Methods (Event Handling)
 	//**********************************************************************
@@ -117,24 +122,47 @@ public final class Network
 		return NAMES;//(String[])NAMES.clone();
 	}
 
+	static Roster			getRoster()
+	{
+		return ROSTER;
+	}
+
+	// Maps a binary roster file, or parses a text one.
+	static Roster			openRoster(Path path)
+		throws IOException
+	{
+		if (MappedRoster.matches(path))
+			return MappedRoster.open(path);
+
+		return new RosterLoader().load(path);
+	}
+
 	public static int		getSides(String name)
 	{
-		// Ugh this is so inefficient!
-		for (int i=0; i<NAMES.length; i++)
-			if (NAMES[i].equals(name))
-				return SIDES[i];
+		int	id = ROSTER.getId(name);
 
-		return -1;
+		return ((id == -1) ? -1 : ROSTER.getSides(id));
 	}
 
 	public static Color		getColor(String name)
 	{
-		// Why bother precomputing an O(log n) hash when O(n) is so nicely lazy?
-		for (int i=0; i<NAMES.length; i++)
-			if (NAMES[i].equals(name))
-				return COLORS[i];
+		int	id = ROSTER.getId(name);
+
+		return ((id == -1) ? null : COLORS[id]);
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static Roster	buildRoster()
+	{
+		int[]	colors = new int[COLORS.length];
+
+		for (int i=0; i<COLORS.length; i++)
+			colors[i] = COLORS[i].getRGB() & 0xffffff;
 
-		return null;
+		return new ArrayRoster(NAMES.clone(), SIDES.clone(), colors, NAMES.length);
 	}
 }
 
@@ -0,0 +1,81 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of index pairs kept in one int
+ * array, so building pairs every step does not box
+ * or allocate once it has grown to size
+ */
+class PairList
+{
+    // Pairs stored as a, b, a, b, ...
+    private int[] pairs;
+
+    // Number of pairs
+    private int size = 0;
+
+    /**
+     * Construct an empty list
+     */
+    public PairList()
+    {
+        this.pairs = new int[32];
+    }
+
+    /**
+     * Add a pair
+     *
+     * @param a: First index
+     * @param b: Second index
+     */
+    public void add(int a, int b)
+    {
+        if(2 * this.size + 2 > this.pairs.length)
+        {
+            this.pairs = Arrays.copyOf(this.pairs, this.pairs.length * 2);
+        }
+        this.pairs[2 * this.size] = a;
+        this.pairs[2 * this.size + 1] = b;
+        this.size++;
+    }
+
+    /**
+     * @param i: Pair index
+     *
+     * @return First index of pair i
+     */
+    public int first(int i)
+    {
+        return this.pairs[2 * i];
+    }
+
+    /**
+     * @param i: Pair index
+     *
+     * @return Second index of pair i
+     */
+    public int second(int i)
+    {
+        return this.pairs[2 * i + 1];
+    }
+
+    /**
+     * @return Number of pairs
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Empty the list, keeping its storage
+     */
+    public void clear()
+    {
+        this.size = 0;
+    }
+}
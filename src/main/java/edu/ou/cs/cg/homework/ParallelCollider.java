@@ -0,0 +1,190 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the narrow phase over candidate pairs on a
+ * work stealing pool.
+ *
+ * Candidates are cut into fixed chunks. Each chunk has its
+ * own hit list, contacts and scratch, so workers never write
+ * to the same arrays, and the chunks are joined in order so
+ * the result matches a single threaded pass exactly.
+ */
+final class ParallelCollider
+{
+    // Candidate pairs handled by one leaf task
+    static final int CHUNK = 256;
+
+    // Workers
+    private final ForkJoinPool pool;
+
+    // Per chunk hits and scratch, kept between frames
+    private PairList[] hits = new PairList[0];
+    private Sat[] sats = new Sat[0];
+    private ContactBuffer[] contacts = new ContactBuffer[0];
+
+    /**
+     * Construct with a number of worker threads
+     *
+     * @param threads: Number of workers
+     */
+    public ParallelCollider(int threads)
+    {
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * @return Number of worker threads
+     */
+    public int getThreads()
+    {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Stop the workers once they finish
+     */
+    public void shutdown()
+    {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Test every candidate pair
+     *
+     * @param polygons: Polygons the pairs index into
+     * @param candidates: Pairs from the broad phase
+     * @param mode: Narrow phase to run
+     * @param out: Receives the colliding pairs, in
+     * candidate order, or null
+     * @param contacts: Receives a contact per colliding
+     * pair from SAT, in candidate order
+     */
+    public void run(ArrayList<Polygon> polygons, PairList candidates, NarrowPhase mode,
+                    PairList out, ContactBuffer contacts)
+    {
+        final int chunks = (candidates.size() + CHUNK - 1) / CHUNK;
+        this.ensureChunks(chunks);
+
+        // World vertices and boxes are built lazily, so build
+        // them here rather than race on them in the workers
+        for(Polygon p: polygons)
+        {
+            p.vertices();
+            p.getMinX();
+        }
+
+        if(chunks > 0)
+        {
+            this.pool.invoke(new Task(polygons, candidates, mode, 0, chunks));
+        }
+        for(int c = 0; c < chunks; c++)
+        {
+            PairList h = this.hits[c];
+            for(int i = 0; out != null && i < h.size(); i++)
+            {
+                out.add(h.first(i), h.second(i));
+            }
+            ContactBuffer cb = this.contacts[c];
+            for(int i = 0; i < cb.size(); i++)
+            {
+                contacts.acquire().set(cb.get(i));
+                contacts.commit();
+            }
+        }
+    }
+
+    /**
+     * Make sure there is scratch for every chunk
+     *
+     * @param chunks: Number of chunks this frame
+     */
+    private void ensureChunks(int chunks)
+    {
+        if(this.hits.length < chunks)
+        {
+            int cap = Math.max(chunks, this.hits.length * 2);
+            PairList[] h = new PairList[cap];
+            Sat[] s = new Sat[cap];
+            ContactBuffer[] c = new ContactBuffer[cap];
+            for(int i = 0; i < cap; i++)
+            {
+                boolean old = i < this.hits.length;
+                h[i] = old ? this.hits[i] : new PairList();
+                s[i] = old ? this.sats[i] : new Sat();
+                c[i] = old ? this.contacts[i] : new ContactBuffer();
+            }
+            this.hits = h;
+            this.sats = s;
+            this.contacts = c;
+        }
+    }
+
+    /**
+     * Tests a range of chunks, splitting in half
+     * until only one is left
+     */
+    @SuppressWarnings("serial")
+    private final class Task extends RecursiveAction
+    {
+        private final ArrayList<Polygon> polygons;
+        private final PairList candidates;
+        private final NarrowPhase mode;
+
+        // Range of chunks, end exclusive
+        private final int lo;
+        private final int hi;
+
+        Task(ArrayList<Polygon> polygons, PairList candidates, NarrowPhase mode, int lo, int hi)
+        {
+            this.polygons = polygons;
+            this.candidates = candidates;
+            this.mode = mode;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.hi - this.lo > 1)
+            {
+                int mid = (this.lo + this.hi) >>> 1;
+                invokeAll(new Task(this.polygons, this.candidates, this.mode, this.lo, mid),
+                          new Task(this.polygons, this.candidates, this.mode, mid, this.hi));
+                return;
+            }
+
+            final int c = this.lo;
+            final PairList h = ParallelCollider.this.hits[c];
+            final Sat sat = ParallelCollider.this.sats[c];
+            final ContactBuffer cb = ParallelCollider.this.contacts[c];
+            final int end = Math.min(this.candidates.size(), (c + 1) * CHUNK);
+            h.clear();
+            cb.clear();
+            for(int i = c * CHUNK; i < end; i++)
+            {
+                int a = this.candidates.first(i);
+                int b = this.candidates.second(i);
+                Contact contact = cb.acquire();
+                if(PolygonCollection.collides(this.mode, sat, contact,
+                                              this.polygons.get(a), this.polygons.get(b)))
+                {
+                    h.add(a, b);
+                    if(this.mode == NarrowPhase.SAT)
+                    {
+                        contact.first = a;
+                        contact.second = b;
+                        cb.commit();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -8,7 +8,6 @@
 package edu.ou.cs.cg.homework;
 
 import java.lang.*;
-import java.util.Random;
 import java.awt.geom.Point2D;
 import javax.media.opengl.*;
 
@@ -17,17 +16,14 @@ import javax.media.opengl.*;
  */
 public class Point extends Point2D.Float
 {
-    // A random object
-    private Random rand = new Random();
-
     // Velocity of the point
     private Vector velocity;
 
     // Target magnitude of the point
-    private final float TARGET_MAG = 0.01667f;
+    private static final float TARGET_MAG = 0.01667f;
 
     /**
-     * Construct a point object
+     * Construct a stationary point object
      *
      * @param x: X coordinate
      * @param y: Y coordinate
@@ -35,13 +31,21 @@ public class Point extends Point2D.Float
     public Point(float x, float y)
     {
         super(x, y);
-        // Calculate a random x velocity and get the y off of that
-        // and the target magnitude
-        float xVel = (float)(rand.nextDouble()*2.0 - 1.0) * this.TARGET_MAG;
-        float yVel = (float)Math.sqrt(Math.pow(this.TARGET_MAG, 2) - Math.pow(xVel, 2));
-        // Randomly invert the y velocity
-        yVel = (this.rand.nextInt(2) == 0) ? -yVel : yVel;
-        this.velocity = new Vector(xVel, yVel);
+        this.velocity = new Vector(0f, 0f);
+    }
+
+    /**
+     * Construct a point object moving in a
+     * random direction
+     *
+     * @param x: X coordinate
+     * @param y: Y coordinate
+     * @param rand: Scene random source
+     */
+    public Point(float x, float y, SceneRandom rand)
+    {
+        this(x, y);
+        rand.nextVelocity(TARGET_MAG, this.velocity);
     }
 
     /**
@@ -151,6 +155,21 @@ public class Point extends Point2D.Float
         return vel_vec;
     }
 
+    /**
+     * Get the vector representing the point and its
+     * end point following its velocity without allocating
+     *
+     * @param end: Point receiving the end point
+     * @param out: Vector receiving the result
+     *
+     * @return out
+     */
+    public Vector getPointVector(Point end, Vector out)
+    {
+        end.setLocation(this.x + this.velocity.x, this.y + this.velocity.y);
+        return out.set(this, end);
+    }
+
     /*
      * Translate the point
      * 
@@ -176,6 +195,34 @@ public class Point extends Point2D.Float
         this.y = (float)newy;
     }
 
+    /**
+     * Squared distance to a location. Cheaper than the
+     * distance itself and fine for comparisons
+     *
+     * @param px: X coordinate
+     * @param py: Y coordinate
+     *
+     * @return Squared distance from this point
+     */
+    public float distanceSquared(float px, float py)
+    {
+        float dx = px - this.x;
+        float dy = py - this.y;
+        return dx*dx + dy*dy;
+    }
+
+    /**
+     * Squared distance to another point
+     *
+     * @param p: The other point
+     *
+     * @return Squared distance from this point
+     */
+    public float distanceSquared(Point p)
+    {
+        return this.distanceSquared(p.x, p.y);
+    }
+
     /**
      * Subtract one point from another
      *
@@ -186,8 +233,20 @@ public class Point extends Point2D.Float
      */
     public static Vector subtract(Point one, Point two)
     {
-        float x = two.getFloatX() - one.getFloatX();
-        float y = two.getFloatY() - one.getFloatY();
-        return new Vector(x, y);
+        return Point.subtract(one, two, new Vector(0f, 0f));
+    }
+
+    /**
+     * Subtract one point from another without allocating
+     *
+     * @param one: A point
+     * @param two: A point
+     * @param out: Vector receiving the result
+     *
+     * @return out, holding two - one
+     */
+    public static Vector subtract(Point one, Point two, Vector out)
+    {
+        return out.set(two.getFloatX() - one.getFloatX(), two.getFloatY() - one.getFloatY());
     }
 }
\ No newline at end of file
@@ -0,0 +1,357 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.Arrays;
+
+/**
+ * Places discs of given radii so that none overlap, with
+ * Bridson's Poisson disk sampling.
+ *
+ * Each new disc is tried at random spots in a ring around a
+ * random disc already placed, and the first spot clear of
+ * every other disc is taken. A disc that runs out of tries
+ * stops being used as a center. Discs are found through a
+ * background grid with cells as wide as the widest new disc,
+ * so a check only looks at 3x3 cells. Obstacles wider than
+ * that are listed in every cell they could reach instead.
+ *
+ * Discs are placed in a square around the origin sized to
+ * hold them all. If it fills up first, the square is made
+ * bigger and the placement starts over. The same seed, radii
+ * and obstacles always give the same placement.
+ */
+final class PoissonDisk
+{
+    // Spots tried around a disc before giving up on it.
+    // Fewer than the usual 30 packs a little looser, but
+    // giving up is most of the work
+    private static final int ATTEMPTS = 12;
+
+    // Area of the square over the area of the squares
+    // around the discs, and how much it grows on a retry
+    private static final float SPREAD = 2.0f;
+    private static final float GROWTH = 1.25f;
+
+    // Source of the spots
+    private final SceneRandom random;
+
+    // Discs to keep clear of
+    private float[] obstacleX = new float[16];
+    private float[] obstacleY = new float[16];
+    private float[] obstacleR = new float[16];
+    private int obstacles = 0;
+
+    // All discs so far, obstacles first
+    private float[] x;
+    private float[] y;
+    private float[] r;
+
+    // Grid of discs: first disc in each cell, next disc
+    // in the same cell, and the square the grid covers
+    private int[] head;
+    private int[] next;
+    private int columns;
+    private float cell;
+    private float half;
+
+    // Wide obstacles by cell: first entry in each cell,
+    // next entry, and the obstacle of each entry
+    private int[] wideHead;
+    private int[] wideNext = new int[16];
+    private int[] wideId = new int[16];
+    private int wides = 0;
+
+    // Placed discs still used as centers
+    private int[] active;
+
+    // Times the square had to grow in the last placement
+    private int retries = 0;
+
+    /**
+     * Construct a sampler
+     *
+     * @param random: Source of the spots
+     */
+    public PoissonDisk(SceneRandom random)
+    {
+        this.random = random;
+    }
+
+    /**
+     * Keep placed discs clear of a disc. It does not
+     * have to be inside the square
+     *
+     * @param x: X of the center
+     * @param y: Y of the center
+     * @param r: Radius
+     */
+    public void avoid(float x, float y, float r)
+    {
+        if(this.obstacles == this.obstacleX.length)
+        {
+            int size = this.obstacles * 2;
+            this.obstacleX = Arrays.copyOf(this.obstacleX, size);
+            this.obstacleY = Arrays.copyOf(this.obstacleY, size);
+            this.obstacleR = Arrays.copyOf(this.obstacleR, size);
+        }
+        this.obstacleX[this.obstacles] = x;
+        this.obstacleY[this.obstacles] = y;
+        this.obstacleR[this.obstacles] = r;
+        this.obstacles++;
+    }
+
+    /**
+     * Place discs
+     *
+     * @param radii: Radius of each disc, above 0
+     * @param n: Number of discs
+     * @param xs: Receives the x of each center
+     * @param ys: Receives the y of each center
+     */
+    public void place(float[] radii, int n, float[] xs, float[] ys)
+    {
+        this.retries = 0;
+        if(n == 0)
+        {
+            return;
+        }
+
+        float max = 0f;
+        double area = 0.0;
+        for(int i = 0; i < n; i++)
+        {
+            max = Math.max(max, radii[i]);
+            area += 4.0 * radii[i] * radii[i];
+        }
+        for(int i = 0; i < this.obstacles; i++)
+        {
+            area += 4.0 * this.obstacleR[i] * this.obstacleR[i];
+        }
+        this.cell = 2f * max;
+
+        float half = Math.max(0.5f, (float)Math.sqrt(SPREAD * area) / 2f);
+        while(!this.attempt(radii, n, half))
+        {
+            half *= GROWTH;
+            this.retries++;
+        }
+        System.arraycopy(this.x, this.obstacles, xs, 0, n);
+        System.arraycopy(this.y, this.obstacles, ys, 0, n);
+    }
+
+    /**
+     * @return Times the square had to grow in the last placement
+     */
+    public int getRetries()
+    {
+        return this.retries;
+    }
+
+    /**
+     * Try to place every disc with centers in a square
+     *
+     * @param radii: Radius of each disc
+     * @param n: Number of discs
+     * @param half: Half the width of the square
+     *
+     * @return If every disc fit
+     */
+    private boolean attempt(float[] radii, int n, float half)
+    {
+        int total = this.obstacles + n;
+        this.half = half;
+        this.columns = Math.max(1, (int)Math.ceil(2f * half / this.cell));
+        int cells = this.columns * this.columns;
+        if(this.head == null || this.head.length < cells)
+        {
+            this.head = new int[cells];
+            this.wideHead = new int[cells];
+        }
+        Arrays.fill(this.head, 0, cells, -1);
+        Arrays.fill(this.wideHead, 0, cells, -1);
+        this.wides = 0;
+        if(this.x == null || this.x.length < total)
+        {
+            this.x = new float[total];
+            this.y = new float[total];
+            this.r = new float[total];
+            this.next = new int[total];
+            this.active = new int[total];
+        }
+
+        int count = 0;
+        for(int i = 0; i < this.obstacles; i++)
+        {
+            if(2f * this.obstacleR[i] <= this.cell)
+            {
+                this.insert(count++, this.obstacleX[i], this.obstacleY[i], this.obstacleR[i]);
+            }
+            else
+            {
+                this.insertWide(count++, this.obstacleX[i], this.obstacleY[i], this.obstacleR[i]);
+            }
+        }
+
+        // The first disc goes anywhere clear
+        boolean found = false;
+        for(int k = 0; k < ATTEMPTS && !found; k++)
+        {
+            float cx = (2f * this.random.nextFloat() - 1f) * half;
+            float cy = (2f * this.random.nextFloat() - 1f) * half;
+            found = this.isClear(cx, cy, radii[0]);
+            if(found)
+            {
+                this.insert(count++, cx, cy, radii[0]);
+            }
+        }
+        if(!found)
+        {
+            return false;
+        }
+        int actives = 0;
+        this.active[actives++] = count - 1;
+
+        // Each of the others goes in a ring around an active
+        // disc, from just touching it to as far again
+        for(int i = 1; i < n; i++)
+        {
+            float ri = radii[i];
+            found = false;
+            while(!found)
+            {
+                if(actives == 0)
+                {
+                    return false;
+                }
+                int a = this.random.nextInt(actives);
+                int center = this.active[a];
+                float d = this.r[center] + ri;
+                for(int k = 0; k < ATTEMPTS && !found; k++)
+                {
+                    // Uniform in the ring, by throwing out spots
+                    // of the square around it that miss
+                    float dx;
+                    float dy;
+                    float dd;
+                    do
+                    {
+                        dx = (float)(4.0 * this.random.nextDouble() - 2.0) * d;
+                        dy = (float)(4.0 * this.random.nextDouble() - 2.0) * d;
+                        dd = dx * dx + dy * dy;
+                    }
+                    while(dd < d * d || dd > 4f * d * d);
+                    float cx = this.x[center] + dx;
+                    float cy = this.y[center] + dy;
+                    found = Math.abs(cx) <= half && Math.abs(cy) <= half &&
+                            this.isClear(cx, cy, ri);
+                    if(found)
+                    {
+                        this.insert(count, cx, cy, ri);
+                        this.active[actives++] = count++;
+                    }
+                }
+                if(!found)
+                {
+                    this.active[a] = this.active[--actives];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add a disc to the grid. Centers outside the square go
+     * in the nearest edge cell, where every disc they could
+     * touch still looks for them
+     */
+    private void insert(int id, float cx, float cy, float cr)
+    {
+        int c = this.cellOf(cx, cy);
+        this.x[id] = cx;
+        this.y[id] = cy;
+        this.r[id] = cr;
+        this.next[id] = this.head[c];
+        this.head[c] = id;
+    }
+
+    /**
+     * Add a wide obstacle to every cell holding a spot
+     * that a new disc could not take because of it
+     */
+    private void insertWide(int id, float cx, float cy, float cr)
+    {
+        this.x[id] = cx;
+        this.y[id] = cy;
+        this.r[id] = cr;
+        float reach = cr + 0.5f * this.cell;
+        int from = this.cellOf(cx - reach, cy - reach);
+        int to = this.cellOf(cx + reach, cy + reach);
+        for(int j = from / this.columns; j <= to / this.columns; j++)
+        {
+            for(int i = from % this.columns; i <= to % this.columns; i++)
+            {
+                if(this.wides == this.wideId.length)
+                {
+                    this.wideId = Arrays.copyOf(this.wideId, this.wides * 2);
+                    this.wideNext = Arrays.copyOf(this.wideNext, this.wides * 2);
+                }
+                int c = j * this.columns + i;
+                this.wideId[this.wides] = id;
+                this.wideNext[this.wides] = this.wideHead[c];
+                this.wideHead[c] = this.wides++;
+            }
+        }
+    }
+
+    /**
+     * @return If a disc there would touch none in the grid
+     */
+    private boolean isClear(float cx, float cy, float cr)
+    {
+        int c = this.cellOf(cx, cy);
+        for(int e = this.wideHead[c]; e != -1; e = this.wideNext[e])
+        {
+            int id = this.wideId[e];
+            float dx = this.x[id] - cx;
+            float dy = this.y[id] - cy;
+            float reach = this.r[id] + cr;
+            if(dx * dx + dy * dy < reach * reach)
+            {
+                return false;
+            }
+        }
+        int column = c % this.columns;
+        int row = c / this.columns;
+        for(int j = Math.max(0, row - 1); j <= Math.min(this.columns - 1, row + 1); j++)
+        {
+            for(int i = Math.max(0, column - 1); i <= Math.min(this.columns - 1, column + 1); i++)
+            {
+                for(int id = this.head[j * this.columns + i]; id != -1; id = this.next[id])
+                {
+                    float dx = this.x[id] - cx;
+                    float dy = this.y[id] - cy;
+                    float reach = this.r[id] + cr;
+                    if(dx * dx + dy * dy < reach * reach)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Grid cell of a point, clamped to the grid
+     */
+    private int cellOf(float cx, float cy)
+    {
+        int column = (int)Math.floor((cx + this.half) / this.cell);
+        int row = (int)Math.floor((cy + this.half) / this.cell);
+        column = Math.max(0, Math.min(this.columns - 1, column));
+        row = Math.max(0, Math.min(this.columns - 1, row));
+        return row * this.columns + column;
+    }
+}
@@ -8,19 +8,51 @@ import java.util.ArrayList;
 import javax.media.opengl.*;
 
 /**
- * Represent a polygon as a series of vector sides 
- * and a list of points with a given center and radius
+ * Represent a polygon as a unit circle template in local
+ * space plus a transform: translation (the center), rotation
+ * and uniform scale (the radius)
+ *
+ * Transforms are O(1). World space vertices are only written
+ * into the polygon's range of a PolygonStore when something
+ * needs them after the transform changed
  *
  * Each polygon is drawn as a circle with a certain number 
  * of points for convexity
  */
 class Polygon
 {
-    // Sides of the polygon
-    private ArrayList<Vector> sides;
-
-    // List of points connecting the sides
-    private Point[] points;
+    // Store holding the vertices. Each polygon gets a
+    // private one until it is added to a collection
+    private PolygonStore store;
+
+    // Handle of the vertex range within the store
+    private int handle;
+
+    // Local space vertices, or null for a single
+    // point polygon. Shared, never modified
+    private VertexTemplate template;
+
+    // Rotation about the center, with its
+    // cosine and sine kept alongside
+    private double angle = 0.0;
+    private float cos = 1f;
+    private float sin = 0f;
+
+    // Set when rotation or scale change, so the
+    // world vertices need to be rebuilt
+    private boolean dirty = true;
+
+    // Center the world vertices were built at
+    private float builtX;
+    private float builtY;
+
+    // Bounding box relative to the center. Only
+    // rotation and scale change it, not moves
+    private float boxMinX;
+    private float boxMinY;
+    private float boxMaxX;
+    private float boxMaxY;
+    private boolean boxDirty = true;
 
     // Radius of the polygon
     private float radius;
@@ -31,9 +63,28 @@ class Polygon
     // Color to fill if necessary
     private float[] fillColor = null;
 
+    // Outline color when none is given
+    private static final float[] WHITE = {1.0f, 1.0f, 1.0f};
+
     // The center of the polygon
     public Point center;
 
+    // Collection told when this polygon moves or changes
+    // size, with this polygon's index in it, its proxy
+    // in the collection's broad phase and its slot in
+    // the collection's quadtree
+    PolygonCollection owner = null;
+    int index = -1;
+    int proxy = -1;
+    int quad = -1;
+
+    // Updates spent below the collection's sleep speed,
+    // whether the polygon is asleep, and the next polygon
+    // in the ring of the island it fell asleep with
+    int sleepTicks = 0;
+    boolean asleep = false;
+    Polygon islandNext = null;
+
     /**
      * Construct polygon instance
      *
@@ -48,17 +99,11 @@ class Polygon
         this.radius = radius;
         this.startAngle = startAngle;
 
-        // Generate the points in the polygon and
-        // Update the side vectors
-        this.points = this.generatePoints(numPoints, this.center, radius, startAngle);
-        this.sides = this.updateVectors();
-
-        // Set velocity of all points to that 
-        // of the center
-        for(Point p: this.points)
-        {
-            p.setVelocity(this.center.getVelocity());
-        }
+        // Look up the local points and make room
+        // for them in world space
+        this.template = (numPoints == 1) ? null : VertexTemplate.get(numPoints, startAngle);
+        this.store = new PolygonStore(numPoints);
+        this.handle = this.store.allocate(numPoints);
     }
 
     /**
@@ -76,17 +121,11 @@ class Polygon
         this.radius = radius;
         this.startAngle = startAngle;
 
-        // Generate the points in the polygon and
-        // Update the side vectors
-        this.points = this.generatePoints(numPoints, this.center, radius, startAngle);
-        this.sides = this.updateVectors();
-
-        // Set velocity of all points to that 
-        // of the center
-        for(Point p: this.points)
-        {
-            p.setVelocity(this.center.getVelocity());
-        }
+        // Look up the local points and make room
+        // for them in world space
+        this.template = (numPoints == 1) ? null : VertexTemplate.get(numPoints, startAngle);
+        this.store = new PolygonStore(numPoints);
+        this.handle = this.store.allocate(numPoints);
 
         // Set fill color
         this.fillColor = fillColor;
@@ -104,26 +143,102 @@ class Polygon
         this.radius = startRadius;
 
         // We only want the one point: the center
-        this.points = new Point[]{ this.center };
-        this.sides = this.updateVectors();
+        this.template = null;
+        this.store = new PolygonStore(1);
+        this.handle = this.store.allocate(1);
     }
 
     /**
-     * Update side vectors in the polygon
+     * Move the vertices into another store, usually
+     * the one shared by a PolygonCollection
      *
-     * @return A list of vectors representing sides
-     * of the polygon going counterclockwise
+     * @param dest: Store to move into
      */
-    private ArrayList<Vector> updateVectors()
+    void attach(PolygonStore dest)
     {
-        ArrayList<Vector> _s = new ArrayList<Vector>();
-        for(int i = 0; i < points.length - 1; i++)
+        if(dest != this.store)
         {
-            Vector v = new Vector(points[i], points[i+1]);
-            _s.add(v);
+            this.handle = this.store.transfer(this.handle, dest);
+            this.store = dest;
         }
-        _s.add(new Vector(points[points.length - 1], points[0]));
-        return _s;
+    }
+
+    /**
+     * Move the vertices out of a shared store
+     * into a private one
+     */
+    void detach()
+    {
+        this.attach(new PolygonStore(this.getVertexCount()));
+    }
+
+    /**
+     * @return Number of vertices in the polygon
+     */
+    public int getVertexCount()
+    {
+        return this.store.length(this.handle);
+    }
+
+    /**
+     * Write the world space vertices into the store
+     * if the transform changed since they were built
+     */
+    private void materialize()
+    {
+        final float cx = this.center.getFloatX();
+        final float cy = this.center.getFloatY();
+        if(!this.dirty && cx == this.builtX && cy == this.builtY)
+        {
+            return;
+        }
+
+        if(this.template == null)
+        {
+            this.store.set(this.handle, 0, cx, cy);
+        }
+        else
+        {
+            // Rotate and scale the unit points,
+            // then offset by the center
+            final float[] xs = this.store.getX();
+            final float[] ys = this.store.getY();
+            final float[] lx = this.template.x;
+            final float[] ly = this.template.y;
+            final float a = this.cos * this.radius;
+            final float b = this.sin * this.radius;
+            final int off = this.store.offset(this.handle);
+            final int n = lx.length;
+            for(int i = 0; i < n; i++)
+            {
+                xs[off + i] = cx + a*lx[i] - b*ly[i];
+                ys[off + i] = cy + b*lx[i] + a*ly[i];
+            }
+        }
+
+        this.builtX = cx;
+        this.builtY = cy;
+        this.dirty = false;
+    }
+
+    /**
+     * Bring the world space vertices up to date. They sit
+     * in the returned store's columns starting at offset()
+     *
+     * @return Store holding the vertices
+     */
+    PolygonStore vertices()
+    {
+        this.materialize();
+        return this.store;
+    }
+
+    /**
+     * @return Where the vertices start in their store
+     */
+    int offset()
+    {
+        return this.store.offset(this.handle);
     }
 
     /**
@@ -133,27 +248,33 @@ class Polygon
     {
         // If there is only one side, we have
         // a point, so draw the center
-        if(this.sides.size() <= 1)
+        int n = this.getVertexCount();
+        if(n <= 1)
         {
             this.center.draw(gl);
         }
         else 
         {
+            this.materialize();
+            float[] xs = this.store.getX();
+            float[] ys = this.store.getY();
+            int off = this.store.offset(this.handle);
             if(this.fillColor == null)
             {
                 // Otherwise, draw all sides
-                for(Vector v: this.sides)
+                for(int i = 0; i < n; i++)
                 {
-                    Utils.drawLine(gl, v.getStartPoint(), v.getEndPoint(), color);
+                    int j = (i + 1) % n;
+                    Utils.drawLine(gl, xs[off + i], ys[off + i], xs[off + j], ys[off + j], color);
                 }
             }
             else 
             {
                 // Get skip amount
-                float inc = 360 / (float)this.sides.size();
+                float inc = 360 / (float)n;
 
                 // Draw filled polygon
-                Utils.drawCircle(gl, this.center, this.radius, 0.0, 360.0, inc, color, this.fillColor, true, this.points);
+                Utils.drawCircle(gl, this.center, this.radius, 0.0, 360.0, inc, color, this.fillColor, true, xs, ys, off, n);
             }
             
         }
@@ -164,32 +285,35 @@ class Polygon
      */
     public void draw(GL2 gl)
     {
-        // Set the color to white
-        float[] color = {1.0f, 1.0f, 1.0f};
-
         // If there is only one side, we have
         // a point, so draw the center
-        if(this.sides.size() <= 1)
+        int n = this.getVertexCount();
+        if(n <= 1)
         {
             this.center.draw(gl);
         }
         else 
         {
+            this.materialize();
+            float[] xs = this.store.getX();
+            float[] ys = this.store.getY();
+            int off = this.store.offset(this.handle);
             if(this.fillColor == null)
             {
                 // Otherwise, draw all sides
-                for(Vector v: this.sides)
+                for(int i = 0; i < n; i++)
                 {
-                    Utils.drawLine(gl, v.getStartPoint(), v.getEndPoint(), color);
+                    int j = (i + 1) % n;
+                    Utils.drawLine(gl, xs[off + i], ys[off + i], xs[off + j], ys[off + j], WHITE);
                 }
             }
             else 
             {
                 // Get skip amount
-                float inc = 360 / (float)this.sides.size();
+                float inc = 360 / (float)n;
                 
                 // Draw filled polygon
-                Utils.drawCircle(gl, this.center, this.radius, 0.0, 360.0, inc, color, this.fillColor, true, this.points);
+                Utils.drawCircle(gl, this.center, this.radius, 0.0, 360.0, inc, WHITE, this.fillColor, true, xs, ys, off, n);
             }
             
         }
@@ -202,14 +326,22 @@ class Polygon
      */
     public void setVelocity(Vector c)
     {
-        // Set the velocity of all points
+        // The vertices follow the center
         this.center.setVelocity(c);
-        for(Point p: this.points)
+        if(this.owner != null)
         {
-            p.setVelocity(c);
+            this.owner.wake(this);
         }
     }
 
+    /**
+     * @return If the polygon is asleep in its collection
+     */
+    public boolean isAsleep()
+    {
+        return this.asleep;
+    }
+
     /**
      * Set the center of the polygon
      *
@@ -218,6 +350,19 @@ class Polygon
     public void setCenter(Point center)
     {
         this.center = center;
+        this.changed();
+    }
+
+    /**
+     * Let the owning collection know the
+     * polygon moved, turned or changed size
+     */
+    private void changed()
+    {
+        if(this.owner != null)
+        {
+            this.owner.polygonChanged(this);
+        }
     }
 
     /*
@@ -229,24 +374,40 @@ class Polygon
     public void move(float dx, float dy)
     {
         this.center.translate(dx, dy);
-        for(Point p: this.points)
-        {
-            p.translate(dx, dy);
-        }
+        this.changed();
     }
 
     /*
-     * Rotate the polygon by theta
+     * Rotate the polygon by theta about its center
      *
      * @param theta: Angle to rotate
      */
     public void rotate(double theta)
     {
-        for(Point p: this.points)
-        {
-            p.rotate(theta);
-        }
-        this.updateVectors();
+        this.setAngle(this.angle + theta);
+    }
+
+    /**
+     * Set the rotation about the center
+     *
+     * @param angle: New angle
+     */
+    private void setAngle(double angle)
+    {
+        this.angle = angle;
+        this.cos = (float)Math.cos(angle);
+        this.sin = (float)Math.sin(angle);
+        this.dirty = true;
+        this.boxDirty = true;
+        this.changed();
+    }
+
+    /**
+     * @return Rotation about the center
+     */
+    public double getAngle()
+    {
+        return this.angle;
     }
 
     /*
@@ -257,7 +418,9 @@ class Polygon
     public void scale(float amount)
     {
         this.radius *= amount;
-        this.points = this.generatePoints(this.points.length, this.center, this.radius, this.startAngle);
+        this.dirty = true;
+        this.boxDirty = true;
+        this.changed();
     }
 
     /**
@@ -270,15 +433,9 @@ class Polygon
     {
         // Reset the radius
         this.radius = this.radius * amount * amount;
-
-        // Regenerate the points
-        this.points = this.generatePoints(this.points.length, this.center, this.radius, this.startAngle);
-
-        // Reset all velocities
-        for(Point p: this.points)
-        {
-            p.setVelocity(this.center.getVelocity());
-        }
+        this.dirty = true;
+        this.boxDirty = true;
+        this.changed();
     }
 
     /**
@@ -288,11 +445,11 @@ class Polygon
      */
     public void copyState(Polygon p)
     {
-        // Copy center, radius, and regenerate points
+        // Copy center, radius and rotation
         this.center = p.center;
         this.radius = p.getRadius();
-        this.points = this.generatePoints(this.points.length, this.center, this.radius, this.startAngle);
-        this.setVelocity(p.center.getVelocity());
+        this.boxDirty = true;
+        this.setAngle(p.getAngle());
     }
 
     /**
@@ -312,27 +469,154 @@ class Polygon
      */
     public boolean contains(Point m)
     {
-        float dist = new Vector(this.center, m).getMagnitude();
-        return dist <= this.radius;
+        return this.contains(m.getFloatX(), m.getFloatY());
+    }
+
+    /*
+     * Ask if a polygon contains a location. The bounding
+     * circle rejects and the inner circle accepts without
+     * square roots; anything between is turned back into
+     * template space and tested against the unit polygon,
+     * so moving or turning never invalidates anything
+     * 
+     * @param x: X coordinate to query
+     * @param y: Y coordinate to query
+     */
+    public boolean contains(float x, float y)
+    {
+        final float dx = x - this.center.getFloatX();
+        final float dy = y - this.center.getFloatY();
+        final float d2 = dx*dx + dy*dy;
+        final float r = this.radius;
+        if(d2 > r * r)
+        {
+            return false;
+        }
+
+        // A single point only has its circle
+        if(this.template == null)
+        {
+            return true;
+        }
+        final float a = r * this.template.apothem;
+        if(d2 <= a * a)
+        {
+            return true;
+        }
+
+        // Undo rotation and scale
+        final float lx = (this.cos*dx + this.sin*dy) / r;
+        final float ly = (this.cos*dy - this.sin*dx) / r;
+        return this.template.contains(lx, ly);
     }
 
     /**
-     * Update the internal state of the polygon
+     * Ask if the bounding circles of two polygons overlap
+     *
+     * @param p: The other polygon
      */
-    public void update()
+    public boolean circleOverlaps(Polygon p)
     {
-        // Update all points with their 
-        // appropriate velocity vectors
-        this.center.update();
-        if(this.points.length > 1)
+        float r = this.radius + p.radius;
+        return this.center.distanceSquared(p.center) <= r * r;
+    }
+
+    /**
+     * Ask if the bounding box contains a location
+     *
+     * @param x: X coordinate to query
+     * @param y: Y coordinate to query
+     */
+    public boolean boundsContain(float x, float y)
+    {
+        this.updateBox();
+        float dx = x - this.center.getFloatX();
+        float dy = y - this.center.getFloatY();
+        return dx >= this.boxMinX && dx <= this.boxMaxX 
+            && dy >= this.boxMinY && dy <= this.boxMaxY;
+    }
+
+    /**
+     * @return Left edge of the bounding box
+     */
+    public float getMinX()
+    {
+        this.updateBox();
+        return this.center.getFloatX() + this.boxMinX;
+    }
+
+    /**
+     * @return Bottom edge of the bounding box
+     */
+    public float getMinY()
+    {
+        this.updateBox();
+        return this.center.getFloatY() + this.boxMinY;
+    }
+
+    /**
+     * @return Right edge of the bounding box
+     */
+    public float getMaxX()
+    {
+        this.updateBox();
+        return this.center.getFloatX() + this.boxMaxX;
+    }
+
+    /**
+     * @return Top edge of the bounding box
+     */
+    public float getMaxY()
+    {
+        this.updateBox();
+        return this.center.getFloatY() + this.boxMaxY;
+    }
+
+    /**
+     * Recompute the center relative bounding box
+     * after a rotation or scale
+     */
+    private void updateBox()
+    {
+        if(!this.boxDirty)
+        {
+            return;
+        }
+        float minX = 0f, minY = 0f, maxX = 0f, maxY = 0f;
+        if(this.template != null)
         {
-            for(Point p: this.points)
+            final float[] lx = this.template.x;
+            final float[] ly = this.template.y;
+            final float a = this.cos * this.radius;
+            final float b = this.sin * this.radius;
+            minX = minY = Float.MAX_VALUE;
+            maxX = maxY = -Float.MAX_VALUE;
+            for(int i = 0; i < lx.length; i++)
             {
-                p.update();
+                float x = a*lx[i] - b*ly[i];
+                float y = b*lx[i] + a*ly[i];
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
             }
         }
-        // Update the sides
-        this.sides = this.updateVectors();
+        this.boxMinX = minX;
+        this.boxMinY = minY;
+        this.boxMaxX = maxX;
+        this.boxMaxY = maxY;
+        this.boxDirty = false;
+    }
+
+    /**
+     * Update the internal state of the polygon
+     */
+    public void update()
+    {
+        // Only the center moves, the
+        // vertices follow lazily
+        this.center.update();
+        this.changed();
     }
 
     /**
@@ -356,34 +640,135 @@ class Polygon
      */
     public Vector collision(Vector v)
     {
+        int i = this.collisionIndex(v.getStartPoint().getX(), v.getStartPoint().getY(), 
+                                    v.getEndPoint().getX(), v.getEndPoint().getY());
+        return (i == -1) ? null : this.side(i);
+    }
+
+    /**
+     * Calculate any collisions between this polygon
+     * and a segment without allocating
+     *
+     * @param x3: Segment start x
+     * @param y3: Segment start y
+     * @param x4: Segment end x
+     * @param y4: Segment end y
+     *
+     * @return Index of the side where the collision
+     * was detected or -1 if none found
+     */
+    public int collisionIndex(double x3, double y3, double x4, double y4)
+    {
+        // Skip the sides if the segment's box
+        // misses the bounding box
+        if(Math.max(x3, x4) < this.getMinX() || Math.min(x3, x4) > this.getMaxX() ||
+           Math.max(y3, y4) < this.getMinY() || Math.min(y3, y4) > this.getMaxY())
+        {
+            return -1;
+        }
+
         // For all interal sides, check
         // for intersection
-        for(Vector in_v: this.sides)
+        this.materialize();
+        float[] xs = this.store.getX();
+        float[] ys = this.store.getY();
+        int off = this.store.offset(this.handle);
+        int n = this.getVertexCount();
+        for(int i = 0; i < n; i++)
         {
-            if(Line2D.linesIntersect(in_v.getStartPoint().getX(), 
-                                     in_v.getStartPoint().getY(), 
-                                     in_v.getEndPoint().getX(), 
-                                     in_v.getEndPoint().getY(), 
-                                     v.getStartPoint().getX(), 
-                                     v.getStartPoint().getY(), 
-                                     v.getEndPoint().getX(), 
-                                     v.getEndPoint().getY()))
-                                     {
-                                         return in_v;
-                                     }
+            int a = off + i;
+            int b = off + (i + 1) % n;
+            if(Line2D.linesIntersect(xs[a], ys[a], xs[b], ys[b], x3, y3, x4, y4))
+            {
+                return i;
+            }
         }
-        // If none found, return null
-        return null;
+        // If none found, return -1
+        return -1;
+    }
+
+    /**
+     * Find where a segment first crosses a side
+     *
+     * @param x0: Segment start x
+     * @param y0: Segment start y
+     * @param x1: Segment end x
+     * @param y1: Segment end y
+     *
+     * @return Fraction along the segment of the first
+     * crossing, or -1 if it crosses no side
+     */
+    public float raycast(float x0, float y0, float x1, float y1)
+    {
+        int n = this.getVertexCount();
+        if(n <= 1)
+        {
+            return -1f;
+        }
+
+        this.materialize();
+        float[] xs = this.store.getX();
+        float[] ys = this.store.getY();
+        int off = this.store.offset(this.handle);
+        float rx = x1 - x0;
+        float ry = y1 - y0;
+        float best = -1f;
+        for(int i = 0; i < n; i++)
+        {
+            int a = off + i;
+            int b = off + (i + 1) % n;
+            float sx = xs[b] - xs[a];
+            float sy = ys[b] - ys[a];
+            float denom = rx*sy - ry*sx;
+            if(denom == 0f)
+            {
+                continue;
+            }
+            float qx = xs[a] - x0;
+            float qy = ys[a] - y0;
+            float t = (qx*sy - qy*sx) / denom;
+            float u = (qx*ry - qy*rx) / denom;
+            if(t >= 0f && t <= 1f && u >= 0f && u <= 1f && (best < 0f || t < best))
+            {
+                best = t;
+            }
+        }
+        return best;
     }
 
     /**
      * Get the list of sides for this polygon
      *
-     * @return The internal list of sides
+     * @return A new list of vectors representing sides
+     * of the polygon going counterclockwise
      */
     public ArrayList<Vector> getSides()
     {
-        return this.sides;
+        int n = this.getVertexCount();
+        ArrayList<Vector> _s = new ArrayList<Vector>(n);
+        for(int i = 0; i < n; i++)
+        {
+            _s.add(this.side(i));
+        }
+        return _s;
+    }
+
+    /**
+     * Build the vector for a single side
+     *
+     * @param i: Index of the side's first vertex
+     *
+     * @return Vector from vertex i to vertex i+1
+     */
+    public Vector side(int i)
+    {
+        this.materialize();
+        float[] xs = this.store.getX();
+        float[] ys = this.store.getY();
+        int off = this.store.offset(this.handle);
+        int a = off + i;
+        int b = off + (i + 1) % this.getVertexCount();
+        return new Vector(new Point(xs[a], ys[a]), new Point(xs[b], ys[b]));
     }
 
     /**
@@ -395,73 +780,68 @@ class Polygon
      * @return Vector where collision is found or null
      */
     public Vector collision(Polygon p)
+    {
+        int i = this.collisionIndex(p);
+        return (i == -1) ? null : this.side(i);
+    }
+
+    /**
+     * Calculate collisions between this polygon 
+     * and another without allocating
+     *
+     * @param p: Polygon with which to calculate
+     *
+     * @return Index of the side where the collision
+     * is found or -1
+     */
+    public int collisionIndex(Polygon p)
     {
         // If only one side, calculate with 
-        // single cvector
-        if(p.getSides().size() <= 1)
+        // the segment the center travels
+        int m = p.getVertexCount();
+        if(m <= 1)
+        {
+            Point c = p.center;
+            Vector vel = c.getVelocity();
+            return this.collisionIndex(c.getX(), c.getY(), c.getX() + vel.x, c.getY() + vel.y);
+        }
+
+        // Sides can only cross if the
+        // bounding circles overlap
+        if(!this.circleOverlaps(p))
         {
-            return this.collision(p.center.getPointVector());
+            return -1;
         }
 
         // Iterate through all sides internally
         // and through the other polygon to calculate 
         // intersections
-        for(Vector in_v: this.sides)
+        this.materialize();
+        p.materialize();
+        float[] xs = this.store.getX();
+        float[] ys = this.store.getY();
+        int off = this.store.offset(this.handle);
+        int n = this.getVertexCount();
+        float[] pxs = p.store.getX();
+        float[] pys = p.store.getY();
+        int poff = p.store.offset(p.handle);
+        for(int i = 0; i < n; i++)
         {
-            for(Vector v: p.getSides())
+            int a = off + i;
+            int b = off + (i + 1) % n;
+            for(int k = 0; k < m; k++)
             {
-                if(Line2D.linesIntersect(in_v.getStartPoint().getX(), 
-                                        in_v.getStartPoint().getY(), 
-                                        in_v.getEndPoint().getX(), 
-                                        in_v.getEndPoint().getY(), 
-                                        v.getStartPoint().getX(), 
-                                        v.getStartPoint().getY(), 
-                                        v.getEndPoint().getX(), 
-                                        v.getEndPoint().getY()))
-                                        {
-                                            return in_v;
-                                        }
+                int c = poff + k;
+                int d = poff + (k + 1) % m;
+                if(Line2D.linesIntersect(xs[a], ys[a], xs[b], ys[b], 
+                                         pxs[c], pys[c], pxs[d], pys[d]))
+                {
+                    return i;
+                }
             }
         }
 
-        // Null if none found
-        return null;
+        // -1 if none found
+        return -1;
     }
-
-    /**
-     * Generate points within the polygon
-     *
-     * @param numPoints: Number of points in the polygon
-     * @param center: The center of the polygon
-     * @param radius: Radius of the polygon
-     * @param startAngle: Angle which to start drawing
-     *
-     * @return List of points
-     */
-    protected Point[] generatePoints(int numPoints, Point center, float radius, float startAngle)
-    {
-        // If there are only one point,
-        // Return the center
-        if(numPoints == 1)
-        {
-            return new Point[]{ center };
-        }
-
-        // Generate in a circular the points of the polygon
-        final float FULL_CIRC = 360f;
-		final float RADIUS = radius;
-		float skipDegree = FULL_CIRC / numPoints;
-		Point[] points = new Point[numPoints];
-		int count = 0;
-		for(float i = startAngle; i < FULL_CIRC + startAngle; i+= skipDegree)
-		{
-            if(count >= numPoints) break;
-			double x =  center.getFloatX() + Math.cos(Math.toRadians(i))*RADIUS;
-			double y = center.getFloatY() + Math.sin(Math.toRadians(i))*RADIUS;
-			Point p = new Point((float)x, (float)y);
-			points[count] = p;
-			count ++;
-		}
-        return points;
-    }
-}
\ No newline at end of file
+}
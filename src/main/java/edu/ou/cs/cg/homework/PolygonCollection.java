@@ -4,6 +4,9 @@
 package edu.ou.cs.cg.homework;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javax.media.opengl.*;
 import javax.media.opengl.awt.*;
 import javax.media.opengl.glu.*;
@@ -17,11 +20,97 @@ class PolygonCollection
     // List of polygons to keep
     private ArrayList<Polygon> polygons;
 
-    // Hull container
-    private ArrayList<Point> hull = new ArrayList<Point>();
+    // Vertices of every polygon in the collection
+    private PolygonStore store = new PolygonStore();
 
-    // Name associated with each polygon
-    private ArrayList<String> name;
+    // Picks and rectangle queries
+    private final Quadtree quadtree = new Quadtree();
+
+    // Finds candidate pairs for collision checks
+    private BroadPhase broadPhase = new AABBTree();
+
+    // Exact test run on each candidate pair
+    private NarrowPhase narrowPhase = NarrowPhase.EDGES;
+    private final Sat sat = new Sat();
+
+    // Runs the narrow phase on several threads, or null
+    // to run it on the calling thread
+    private ParallelCollider parallel = null;
+
+    // Whether updates stop polygons before they hit
+    private boolean continuous = false;
+    private final Sweep sweep = new Sweep();
+
+    // Contacts from the last collision check
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    // Pairs from the broad phase, which leaves out
+    // pairs of sleeping polygons
+    private final PairList candidates = new PairList();
+
+    // Pairs that collided in the last check
+    private final PairList touching = new PairList();
+
+    // Speed below which a polygon counts as still, and
+    // how many updates it has to stay still to sleep
+    public static final float SLEEP_SPEED = 1e-4f;
+    public static final int SLEEP_TICKS = 60;
+
+    // Fraction of its speed an awake polygon loses each
+    // update. Off unless asked for, so nodes keep moving
+    private float damping = 0f;
+
+    // Number of sleeping polygons
+    private int sleeping = 0;
+
+    // Set while update() moves polygons, so their
+    // own moves do not wake them
+    private boolean updating = false;
+
+    // Island scratch: union find parents, whether each
+    // island may sleep, and the first member of each one
+    // falling asleep, which the others join the ring after
+    private int[] parent = new int[16];
+    private boolean[] ready = new boolean[16];
+    private int[] member = new int[16];
+
+    // Hull from the last computation, and the version
+    // the last computation was started for
+    private List<Point> hull = Collections.emptyList();
+    private int hullVersion = -1;
+
+    // Computes hulls off the calling thread, unless
+    // hullAsync is off
+    private final HullWorker hullWorker = new HullWorker();
+    private boolean hullAsync = true;
+
+    // Calls to getHull() so far, and the call that gathered
+    // the points for the hull being computed and the shown one
+    private int hullFrame = 0;
+    private int hullStartFrame = 0;
+    private int hullShownFrame = 0;
+
+    // How many calls to getHull() ago the returned
+    // hull was up to date, and the most seen
+    private int hullStaleness = 0;
+    private int maxHullStaleness = 0;
+
+    // Bumped whenever a polygon is added, removed,
+    // moved, turned or resized
+    private int version = 0;
+
+    // Number of times the hull has been computed
+    private int hullComputations = 0;
+
+    // Algorithm getHull() runs, and the vertex
+    // columns and hull indices it runs on
+    private HullAlgorithm hullAlgorithm = new QuickHull();
+    private float[] hullX = new float[16];
+    private float[] hullY = new float[16];
+    private int[] hullIndex = new int[16];
+
+    // Roster id of the name associated with each polygon
+    private int[] name = new int[16];
 
     // Index of the focused polygon
     private int focused = -1;
@@ -32,19 +121,128 @@ class PolygonCollection
     public PolygonCollection()
     {
         this.polygons = new ArrayList<Polygon>();
-        this.name = new ArrayList<String>();
     }
 
     /**
      * Add a polygon to the collection
      * 
      * @param p: A Polygon object
+     * @param name: Roster id of the polygon's name
      */
-    public void addPolygon(Polygon p, String name)
+    public void addPolygon(Polygon p, int name)
     {
+        p.attach(this.store);
+        p.owner = this;
+        p.index = this.polygons.size();
+        p.sleepTicks = 0;
+        p.asleep = false;
+        if(this.name.length == this.polygons.size())
+        {
+            this.name = Arrays.copyOf(this.name, this.name.length * 2);
+        }
+        this.name[this.polygons.size()] = name;
         this.polygons.add(p);
-        this.name.add(name);
+        this.broadPhase.add(p);
+        this.quadtree.add(p);
         this.focused = this.polygons.size() - 1;
+        this.version++;
+    }
+
+    /**
+     * Add many polygons at once, growing storage once
+     * and counting as a single change
+     *
+     * @param ps: Polygon objects
+     * @param names: Roster id of each polygon's name
+     * @param n: Number of polygons to add
+     */
+    public void addPolygons(Polygon[] ps, int[] names, int n)
+    {
+        int size = this.polygons.size();
+        this.polygons.ensureCapacity(size + n);
+        if(this.name.length < size + n)
+        {
+            this.name = Arrays.copyOf(this.name, Math.max(size + n, this.name.length * 2));
+        }
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = ps[i];
+            p.attach(this.store);
+            p.owner = this;
+            p.index = size + i;
+            p.sleepTicks = 0;
+            p.asleep = false;
+            this.name[size + i] = names[i];
+            this.polygons.add(p);
+            this.broadPhase.add(p);
+            this.quadtree.add(p);
+        }
+        if(n > 0)
+        {
+            this.focused = this.polygons.size() - 1;
+            this.version++;
+        }
+    }
+
+    /**
+     * Called by a polygon in this collection when
+     * it moves, turns or changes size
+     *
+     * @param p: The changed polygon
+     */
+    void polygonChanged(Polygon p)
+    {
+        this.version++;
+        this.broadPhase.moved(p);
+        this.quadtree.moved(p);
+        if(!this.updating)
+        {
+            this.wake(p);
+        }
+    }
+
+    /**
+     * Wake a polygon and the island it is sleeping in.
+     * Dragging, key moves and new velocities go through here
+     *
+     * @param p: Polygon to wake
+     */
+    void wake(Polygon p)
+    {
+        p.sleepTicks = 0;
+        if(!p.asleep)
+        {
+            return;
+        }
+
+        // Only walk the island's own ring
+        Polygon q = p;
+        do
+        {
+            Polygon next = q.islandNext;
+            q.asleep = false;
+            q.sleepTicks = 0;
+            q.islandNext = null;
+            this.sleeping--;
+            q = next;
+        }
+        while(q != p);
+    }
+
+    /**
+     * @return Number of polygons still being updated
+     */
+    public int getActiveCount()
+    {
+        return this.polygons.size() - this.sleeping;
+    }
+
+    /**
+     * @return Number of sleeping polygons
+     */
+    public int getSleepingCount()
+    {
+        return this.sleeping;
     }
 
     /**
@@ -90,12 +288,28 @@ class PolygonCollection
     /*
      * Remove currently selected polygon
      *
-     * @return Name associated with removed polygon
+     * @return Roster id of the name associated with removed polygon
      */
-    public String remove()
+    public int remove()
     {
+        // Whatever it was holding up has to wake
+        Polygon p = this.polygons.get(this.focused);
+        this.wake(p);
         this.polygons.remove(this.focused);
-        String s = this.name.remove(this.focused);
+        this.version++;
+        this.touching.clear();
+        this.broadPhase.remove(p);
+        this.quadtree.remove(p);
+        p.detach();
+        p.owner = null;
+        p.index = -1;
+        for(int i = this.focused; i < this.polygons.size(); i++)
+        {
+            this.polygons.get(i).index = i;
+        }
+        int s = this.name[this.focused];
+        System.arraycopy(this.name, this.focused + 1, this.name, this.focused,
+                         this.polygons.size() - this.focused);
         if(this.focused == this.polygons.size())
         {
             this.focused --;
@@ -103,6 +317,375 @@ class PolygonCollection
         return s;
     }
 
+    /**
+     * Move every awake polygon along its velocity. In
+     * continuous mode polygons stop where they would first
+     * touch. Then damp their velocities if damping is on,
+     * and put to sleep islands of touching polygons that
+     * have all been still long enough
+     */
+    public void update()
+    {
+        this.updating = true;
+        if(this.continuous)
+        {
+            this.sweep.advance(this.polygons);
+        }
+        else
+        {
+            for(int i = 0; i < this.polygons.size(); i++)
+            {
+                Polygon p = this.polygons.get(i);
+                if(!p.asleep)
+                {
+                    p.update();
+                }
+            }
+        }
+        this.updating = false;
+
+        if(this.damping != 0f)
+        {
+            final float keep = 1f - this.damping;
+            for(int i = 0; i < this.polygons.size(); i++)
+            {
+                Polygon p = this.polygons.get(i);
+                if(!p.asleep)
+                {
+                    p.center.getVelocity().scaleInPlace(keep);
+                }
+            }
+        }
+        this.settle();
+    }
+
+    /**
+     * Set how much speed awake polygons lose each update,
+     * so a moving scene slows down and can fall asleep
+     *
+     * @param damping: Fraction from 0, the default, to 1
+     */
+    public void setDamping(float damping)
+    {
+        this.damping = damping;
+    }
+
+    /**
+     * Count still updates and put islands to sleep. Islands
+     * of awake polygons are joined by the pairs touching in
+     * the last collision check. Sleeping islands keep their
+     * rings and are left out, so this only works on the
+     * awake polygons
+     */
+    private void settle()
+    {
+        final int n = this.polygons.size();
+        if(this.parent.length < n)
+        {
+            int cap = Math.max(n, this.parent.length * 2);
+            this.parent = new int[cap];
+            this.ready = new boolean[cap];
+            this.member = new int[cap];
+        }
+        for(int i = 0; i < n; i++)
+        {
+            if(!this.polygons.get(i).asleep)
+            {
+                this.parent[i] = i;
+                this.member[i] = -1;
+                this.ready[i] = true;
+            }
+        }
+        for(int i = 0; i < this.touching.size(); i++)
+        {
+            int a = this.touching.first(i);
+            int b = this.touching.second(i);
+            if(!this.polygons.get(a).asleep && !this.polygons.get(b).asleep)
+            {
+                this.union(a, b);
+            }
+        }
+
+        // One moving member keeps the whole island awake
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = this.polygons.get(i);
+            if(p.asleep)
+            {
+                continue;
+            }
+            if(p.center.getVelocity().getMagnitude() < SLEEP_SPEED)
+            {
+                p.sleepTicks++;
+            }
+            else
+            {
+                p.sleepTicks = 0;
+            }
+            if(p.sleepTicks < SLEEP_TICKS)
+            {
+                this.ready[this.find(i)] = false;
+            }
+        }
+
+        // Link each island falling asleep into a ring, so
+        // waking one member only has to walk its own island
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = this.polygons.get(i);
+            if(p.asleep)
+            {
+                continue;
+            }
+            int root = this.find(i);
+            if(!this.ready[root])
+            {
+                continue;
+            }
+            p.asleep = true;
+            this.sleeping++;
+            if(this.member[root] == -1)
+            {
+                this.member[root] = i;
+                p.islandNext = p;
+            }
+            else
+            {
+                Polygon first = this.polygons.get(this.member[root]);
+                p.islandNext = first.islandNext;
+                first.islandNext = p;
+            }
+        }
+    }
+
+    /**
+     * @return Root of an island
+     */
+    private int find(int i)
+    {
+        while(this.parent[i] != i)
+        {
+            this.parent[i] = this.parent[this.parent[i]];
+            i = this.parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Join two islands
+     */
+    private void union(int a, int b)
+    {
+        int ra = this.find(a);
+        int rb = this.find(b);
+        if(ra != rb)
+        {
+            this.parent[Math.max(ra, rb)] = Math.min(ra, rb);
+        }
+    }
+
+    /**
+     * Turn continuous collision on or off for updates
+     *
+     * @param continuous: If updates should sweep
+     */
+    public void setContinuous(boolean continuous)
+    {
+        this.continuous = continuous;
+    }
+
+    /**
+     * Set the broad phase used for collision checks
+     *
+     * @param broadPhase: The new broad phase
+     */
+    public void setBroadPhase(BroadPhase broadPhase)
+    {
+        this.broadPhase = broadPhase;
+        for(Polygon p: this.polygons)
+        {
+            broadPhase.add(p);
+        }
+    }
+
+    /**
+     * Set the exact test run on candidate pairs
+     *
+     * @param narrowPhase: The new narrow phase
+     */
+    public void setNarrowPhase(NarrowPhase narrowPhase)
+    {
+        this.narrowPhase = narrowPhase;
+    }
+
+    /**
+     * Find every pair of polygons that collide.
+     * The broad phase picks candidates and the
+     * narrow phase only runs on those
+     *
+     * @param out: Receives index pairs (a, b) with a < b
+     */
+    public void findCollisions(PairList out)
+    {
+        this.findCandidates();
+        this.narrow(this.narrowPhase, this.contacts);
+        out.clear();
+        for(int i = 0; i < this.touching.size(); i++)
+        {
+            out.add(this.touching.first(i), this.touching.second(i));
+        }
+    }
+
+    /**
+     * Find how every colliding pair of polygons touch,
+     * using the separating axis test
+     *
+     * @param out: Receives one contact per colliding
+     * pair, ordered like findCollisions
+     */
+    public void findContacts(ContactBuffer out)
+    {
+        this.findCandidates();
+        this.narrow(NarrowPhase.SAT, out);
+    }
+
+    /**
+     * Run the broad phase. It leaves out pairs where both
+     * polygons sleep, since they cannot have changed
+     */
+    private void findCandidates()
+    {
+        this.candidates.clear();
+        this.broadPhase.findPairs(this.polygons, this.candidates);
+    }
+
+    /**
+     * Run a narrow phase over the candidate pairs, keeping
+     * the colliding ones in touching, then wake sleeping
+     * polygons hit by moving ones
+     *
+     * @param mode: Narrow phase to run
+     * @param contacts: Receives contacts from SAT
+     */
+    private void narrow(NarrowPhase mode, ContactBuffer contacts)
+    {
+        this.touching.clear();
+        contacts.clear();
+        if(this.parallel != null)
+        {
+            this.parallel.run(this.polygons, this.candidates, mode, this.touching, contacts);
+        }
+        else
+        {
+            for(int i = 0; i < this.candidates.size(); i++)
+            {
+                int a = this.candidates.first(i);
+                int b = this.candidates.second(i);
+                Contact c = contacts.acquire();
+                if(collides(mode, this.sat, c, this.polygons.get(a), this.polygons.get(b)))
+                {
+                    this.touching.add(a, b);
+                    if(mode == NarrowPhase.SAT)
+                    {
+                        c.first = a;
+                        c.second = b;
+                        contacts.commit();
+                    }
+                }
+            }
+        }
+
+        for(int i = 0; i < this.touching.size(); i++)
+        {
+            Polygon p = this.polygons.get(this.touching.first(i));
+            Polygon q = this.polygons.get(this.touching.second(i));
+            if(p.asleep && !q.asleep && q.sleepTicks == 0)
+            {
+                this.wake(p);
+            }
+            else if(q.asleep && !p.asleep && p.sleepTicks == 0)
+            {
+                this.wake(q);
+            }
+        }
+    }
+
+    /**
+     * Get the contacts found by the last
+     * findCollisions, empty unless it ran SAT
+     *
+     * @return Pooled contacts, overwritten
+     * by the next check
+     */
+    public ContactBuffer getContacts()
+    {
+        return this.contacts;
+    }
+
+    /**
+     * Set how many threads run the narrow phase
+     *
+     * @param threads: Number of threads, 1 to run on
+     * the calling thread
+     */
+    public void setThreads(int threads)
+    {
+        if(this.parallel != null)
+        {
+            this.parallel.shutdown();
+        }
+        this.parallel = (threads > 1) ? new ParallelCollider(threads) : null;
+    }
+
+    /**
+     * @return Number of threads running the narrow phase
+     */
+    public int getThreads()
+    {
+        return (this.parallel == null) ? 1 : this.parallel.getThreads();
+    }
+
+    /**
+     * Run a narrow phase on one pair
+     *
+     * @param mode: Narrow phase to run
+     * @param sat: Scratch for the separating axis test
+     * @param contact: Receives the contact for SAT
+     * @param p: A polygon
+     * @param q: A polygon
+     *
+     * @return If the two collide
+     */
+    static boolean collides(NarrowPhase mode, Sat sat, Contact contact, Polygon p, Polygon q)
+    {
+        if(mode == NarrowPhase.SAT)
+        {
+            return sat.collide(p, q, contact);
+        }
+        return collides(p, q);
+    }
+
+    /**
+     * Run the side test on a pair, keeping any single
+     * point polygon on the right hand side since it
+     * only has a travel segment to test
+     *
+     * @param p: A polygon
+     * @param q: A polygon
+     *
+     * @return If the two collide
+     */
+    static boolean collides(Polygon p, Polygon q)
+    {
+        if(p.getVertexCount() <= 1)
+        {
+            Polygon t = p;
+            p = q;
+            q = t;
+        }
+        return p.collisionIndex(q) != -1;
+    }
+
     /*
      * Get number of polygons in collection
      */
@@ -143,97 +726,161 @@ class PolygonCollection
      */
     public int contains(Point m)
     {
-        for(int i = this.polygons.size() - 1; i >= 0; i--)
-        {
-            if(this.polygons.get(i).contains(m))
-            {
-                return i;
-            }
-        }
-        return -1;
+        return this.quadtree.pick(m.getFloatX(), m.getFloatY());
     }
 
     /*
-     * Calculate if the points are in a counter clockwise formation
-     * 
-     * @param p: Edge point
-     * @param q: Next point
-     * @param r: Collection point
-     * 
-     * @return if the points go counter clockwise
+     * Find the polygons whose bounding box
+     * overlaps a rectangle
+     *
+     * @param x0: Left edge
+     * @param y0: Bottom edge
+     * @param x1: Right edge
+     * @param y1: Top edge
+     * @param out: Receives the polygons
+     */
+    public void query(float x0, float y0, float x1, float y1, ArrayList<Polygon> out)
+    {
+        this.quadtree.query(x0, y0, x1, y1, out);
+    }
+
+    /**
+     * Set the algorithm getHull() runs
+     *
+     * @param hullAlgorithm: The new hull algorithm
      */
-    private boolean ccw(Point p, Point q, Point r)
+    public void setHullAlgorithm(HullAlgorithm hullAlgorithm)
     {
-        double val = (q.getY() - p.getY()) * (r.getX() - q.getX()) - (q.getX() - p.getX()) * (r.getY() - q.getY());
-      
-        if(val >= 0)
+        this.hullAlgorithm = hullAlgorithm;
+        this.hullVersion = -1;
+    }
+
+    /**
+     * Choose whether getHull() computes on a background
+     * thread and returns the last finished hull, or
+     * computes on the calling thread. Turning it off
+     * waits for any hull being computed
+     *
+     * @param hullAsync: If the hull is computed in the background
+     */
+    public void setHullAsync(boolean hullAsync)
+    {
+        if(!hullAsync)
         {
-            return false;
+            this.hullWorker.await();
         }
-        return true;
+        this.hullAsync = hullAsync;
+        this.hullVersion = -1;
+    }
+
+    /**
+     * @return Number of times the hull has been computed
+     */
+    public int getHullComputations()
+    {
+        return this.hullComputations;
+    }
+
+    /**
+     * @return How many calls to getHull() ago the hull it
+     * last returned was gathered, or 0 if it is up to date.
+     * With one call a frame, this is the lag in frames
+     */
+    public int getHullStaleness()
+    {
+        return this.hullStaleness;
+    }
+
+    /**
+     * @return Most staleness seen so far
+     */
+    public int getMaxHullStaleness()
+    {
+        return this.maxHullStaleness;
     }
 
     /*
-     * Get the convex hull for this polygon collection
+     * Get the convex hull for this polygon collection.
+     * Only recomputed after something in the collection
+     * changed, otherwise the last hull is returned.
+     *
+     * In async mode this never waits: it returns the last
+     * finished hull and starts a new one if the collection
+     * changed and none is running. Changes made while one
+     * runs are picked up together by the next
      * 
-     * @return the list of points on the null
+     * @return Read only copies of the points on the hull
      */
-    public ArrayList<Point> getHull()
+    public List<Point> getHull()
     {
-        this.hull = new ArrayList<Point>();
-
-        // If collection less than three, add 
-        // known points and terminate
-        if(this.polygons.size() < 3)
+        if(!this.hullAsync)
         {
-            for(Polygon p: this.polygons)
+            if(this.hullVersion != this.version)
             {
-                this.hull.add(p.center);
+                this.hullVersion = this.version;
+                this.hullComputations++;
+                int n = this.gatherVertices();
+                this.hull = HullWorker.build(this.hullAlgorithm, this.hullX, this.hullY, n, this.hullIndex);
             }
+            this.hullStaleness = 0;
             return this.hull;
         }
 
-        // Get the leftmost polygon
-        int leftMost = -1;
-        float leftX = 1;
-        for(int i = 0; i < this.polygons.size(); i++)
+        // Take the last finished hull
+        this.hullFrame++;
+        int done = this.hullWorker.getVersion();
+        if(done == this.hullVersion)
         {
-            if(this.polygons.get(i).center.getFloatX() < leftX)
-            {
-                leftMost = i;
-            }
+            this.hullShownFrame = this.hullStartFrame;
         }
+        this.hull = this.hullWorker.getHull();
+        this.hullStaleness = (done == this.version) ? 0 : this.hullFrame - this.hullShownFrame;
+        this.maxHullStaleness = Math.max(this.maxHullStaleness, this.hullStaleness);
 
-        int p = leftMost;
-        int q;
-        do
+        // Start the next one if anything changed. The
+        // columns belong to the worker while it is busy
+        if(this.hullVersion != this.version && !this.hullWorker.isBusy())
         {
-            // If trying to add polygon I've seen before, exit
-            if(this.hull.contains(this.polygons.get(p).center)) break;
-
-            // Add next polygon
-            this.hull.add(this.polygons.get(p).center);
-
-            // Get next polygon index
-            q = (p+1) % this.polygons.size();
-
-            // Find next polygon that is most ccw
-            for(int i = 0; i < this.polygons.size(); i++)
-            {
-                Point pc = this.polygons.get(p).center;
-                Point qc = this.polygons.get(i).center;
-                Point rc = this.polygons.get(q).center;
-                boolean meh = this.ccw(pc, qc, rc);
-                if(meh)
-                {
-                    q = i;
-                }
-            }
-            p=q;
-        // Exit when we end up where we started
-        }while(p != leftMost);
+            this.hullVersion = this.version;
+            this.hullStartFrame = this.hullFrame;
+            this.hullComputations++;
+            int n = this.gatherVertices();
+            this.hullWorker.start(this.hullAlgorithm, this.hullX, this.hullY, n, this.version);
+        }
 
         // Return the hull
         return this.hull;
     }
+
+    /**
+     * Copy every vertex into the hull columns, so the
+     * hull wraps the polygons and not their centers
+     *
+     * @return Number of vertices
+     */
+    private int gatherVertices()
+    {
+        int n = 0;
+        for(Polygon p: this.polygons)
+        {
+            n += p.getVertexCount();
+        }
+        if(this.hullX.length < n)
+        {
+            int size = Math.max(n, this.hullX.length * 2);
+            this.hullX = new float[size];
+            this.hullY = new float[size];
+            this.hullIndex = new int[size];
+        }
+        n = 0;
+        for(Polygon p: this.polygons)
+        {
+            PolygonStore vs = p.vertices();
+            int m = p.getVertexCount();
+            System.arraycopy(vs.getX(), p.offset(), this.hullX, n, m);
+            System.arraycopy(vs.getY(), p.offset(), this.hullY, n, m);
+            n += m;
+        }
+        return n;
+    }
 }
\ No newline at end of file
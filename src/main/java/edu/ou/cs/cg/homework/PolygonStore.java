@@ -0,0 +1,229 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the world space vertices of many polygons in
+ * flat primitive columns (x, y) instead of one Point
+ * object per vertex.
+ *
+ * Each polygon owns a contiguous range of the columns
+ * identified by a handle. Ranges stay packed: freeing
+ * one slides everything after it down.
+ */
+class PolygonStore
+{
+    // Starting number of vertices and ranges
+    private static final int INITIAL_VERTICES = 16;
+    private static final int INITIAL_RANGES = 4;
+
+    // Vertex columns
+    private float[] x;
+    private float[] y;
+
+    // Number of vertices in use
+    private int size = 0;
+
+    // Offset and length of each range, by handle
+    private int[] offset;
+    private int[] length;
+
+    // Number of handles ever handed out
+    private int handles = 0;
+
+    // Handles released and ready for reuse
+    private int[] freeHandles;
+    private int freeCount = 0;
+
+    /**
+     * Construct an empty store
+     */
+    public PolygonStore()
+    {
+        this(INITIAL_VERTICES);
+    }
+
+    /**
+     * Construct an empty store sized for
+     * a number of vertices
+     *
+     * @param vertices: Expected number of vertices
+     */
+    public PolygonStore(int vertices)
+    {
+        int cap = Math.max(vertices, 1);
+        this.x = new float[cap];
+        this.y = new float[cap];
+        this.offset = new int[INITIAL_RANGES];
+        this.length = new int[INITIAL_RANGES];
+        this.freeHandles = new int[INITIAL_RANGES];
+    }
+
+    /**
+     * Reserve a range of vertices
+     *
+     * @param count: Number of vertices in the range
+     *
+     * @return Handle of the new range
+     */
+    public int allocate(int count)
+    {
+        this.ensureVertices(this.size + count);
+
+        int handle;
+        if(this.freeCount > 0)
+        {
+            handle = this.freeHandles[--this.freeCount];
+        }
+        else
+        {
+            if(this.handles == this.offset.length)
+            {
+                int cap = this.handles * 2;
+                this.offset = Arrays.copyOf(this.offset, cap);
+                this.length = Arrays.copyOf(this.length, cap);
+            }
+            handle = this.handles++;
+        }
+
+        this.offset[handle] = this.size;
+        this.length[handle] = count;
+        this.size += count;
+        return handle;
+    }
+
+    /**
+     * Release a range and pack the columns
+     *
+     * @param handle: Range to release
+     */
+    public void free(int handle)
+    {
+        int off = this.offset[handle];
+        int len = this.length[handle];
+        int tail = this.size - (off + len);
+
+        // Slide the remaining vertices down
+        System.arraycopy(this.x, off + len, this.x, off, tail);
+        System.arraycopy(this.y, off + len, this.y, off, tail);
+        this.size -= len;
+
+        // Fix the offsets of every range after it
+        for(int h = 0; h < this.handles; h++)
+        {
+            if(this.length[h] > 0 && this.offset[h] > off)
+            {
+                this.offset[h] -= len;
+            }
+        }
+
+        this.offset[handle] = 0;
+        this.length[handle] = 0;
+        if(this.freeCount == this.freeHandles.length)
+        {
+            this.freeHandles = Arrays.copyOf(this.freeHandles, this.freeCount * 2);
+        }
+        this.freeHandles[this.freeCount++] = handle;
+    }
+
+    /**
+     * Copy a range into another store and
+     * release it here
+     *
+     * @param handle: Range to move
+     * @param dest: Store receiving the range
+     *
+     * @return Handle of the range in dest
+     */
+    public int transfer(int handle, PolygonStore dest)
+    {
+        int off = this.offset[handle];
+        int len = this.length[handle];
+        int h = dest.allocate(len);
+        int doff = dest.offset[h];
+        System.arraycopy(this.x, off, dest.x, doff, len);
+        System.arraycopy(this.y, off, dest.y, doff, len);
+        this.free(handle);
+        return h;
+    }
+
+    /**
+     * Grow the columns to fit a number of vertices
+     *
+     * @param needed: Required capacity
+     */
+    private void ensureVertices(int needed)
+    {
+        if(needed <= this.x.length)
+        {
+            return;
+        }
+        int cap = Math.max(needed, this.x.length * 2);
+        this.x = Arrays.copyOf(this.x, cap);
+        this.y = Arrays.copyOf(this.y, cap);
+    }
+
+    /**
+     * @return Number of vertices in use
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * @return First vertex of a range
+     */
+    public int offset(int handle)
+    {
+        return this.offset[handle];
+    }
+
+    /**
+     * @return Number of vertices in a range
+     */
+    public int length(int handle)
+    {
+        return this.length[handle];
+    }
+
+    /**
+     * The x column. Only valid until the
+     * next allocation.
+     *
+     * @return X coordinates of all vertices
+     */
+    public float[] getX()
+    {
+        return this.x;
+    }
+
+    /**
+     * The y column. Only valid until the
+     * next allocation.
+     *
+     * @return Y coordinates of all vertices
+     */
+    public float[] getY()
+    {
+        return this.y;
+    }
+
+    /**
+     * Set a single vertex in a range
+     *
+     * @param handle: The range
+     * @param i: Vertex within the range
+     * @param x: New x
+     * @param y: New y
+     */
+    public void set(int handle, int i, float x, float y)
+    {
+        int at = this.offset[handle] + i;
+        this.x[at] = x;
+        this.y[at] = y;
+    }
+}
@@ -0,0 +1,332 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * Geometric predicates whose signs are always right.
+ *
+ * Each one is first worked out in plain doubles, along with
+ * a bound on how far rounding could have moved the answer.
+ * Only when the answer is closer to zero than that bound is
+ * it worked out again exactly, using expansions: arrays of
+ * doubles, smallest first, that add up to the exact value
+ * without overlapping (Shewchuk's arithmetic). That happens
+ * for points that are collinear or cocircular, or very nearly.
+ */
+final class Predicates
+{
+    // Half an ulp of 1
+    private static final double EPSILON = 0x1p-53;
+
+    // Splits a double into two halves of 26 bits
+    private static final double SPLITTER = 0x1p27 + 1.0;
+
+    // Relative error bounds of the double versions
+    private static final double ORIENT_BOUND = (3.0 + 16.0 * EPSILON) * EPSILON;
+    private static final double INCIRCLE_BOUND = (10.0 + 96.0 * EPSILON) * EPSILON;
+
+    /**
+     * Static only
+     */
+    private Predicates()
+    {
+    }
+
+    /**
+     * Orientation of three points
+     *
+     * @param ax: X of a
+     * @param ay: Y of a
+     * @param bx: X of b
+     * @param by: Y of b
+     * @param cx: X of c
+     * @param cy: Y of c
+     *
+     * @return Positive if a, b, c turn counter clockwise
+     * (c is left of the line from a to b), negative if
+     * clockwise, 0 if collinear. About twice the area of
+     * the triangle, and the sign is exact
+     */
+    static double orient2d(double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        double left = (ax - cx) * (by - cy);
+        double right = (ay - cy) * (bx - cx);
+        double det = left - right;
+        double bound = ORIENT_BOUND * (Math.abs(left) + Math.abs(right));
+        if(Math.abs(det) > bound)
+        {
+            return det;
+        }
+        return orient2dExact(ax, ay, bx, by, cx, cy);
+    }
+
+    /**
+     * Whether a point is inside the circle through three others
+     *
+     * @param ax: X of a
+     * @param ay: Y of a
+     * @param bx: X of b
+     * @param by: Y of b
+     * @param cx: X of c
+     * @param cy: Y of c
+     * @param dx: X of d
+     * @param dy: Y of d
+     *
+     * @return Positive if d is inside the circle through
+     * a, b, c when they are counter clockwise, negative if
+     * outside, 0 if on it. Flips when they are clockwise.
+     * The sign is exact
+     */
+    static double incircle(double ax, double ay, double bx, double by,
+                           double cx, double cy, double dx, double dy)
+    {
+        double adx = ax - dx;
+        double ady = ay - dy;
+        double bdx = bx - dx;
+        double bdy = by - dy;
+        double cdx = cx - dx;
+        double cdy = cy - dy;
+
+        double bdxcdy = bdx * cdy;
+        double cdxbdy = cdx * bdy;
+        double alift = adx * adx + ady * ady;
+
+        double cdxady = cdx * ady;
+        double adxcdy = adx * cdy;
+        double blift = bdx * bdx + bdy * bdy;
+
+        double adxbdy = adx * bdy;
+        double bdxady = bdx * ady;
+        double clift = cdx * cdx + cdy * cdy;
+
+        double det = alift * (bdxcdy - cdxbdy)
+                   + blift * (cdxady - adxcdy)
+                   + clift * (adxbdy - bdxady);
+        double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * alift
+                         + (Math.abs(cdxady) + Math.abs(adxcdy)) * blift
+                         + (Math.abs(adxbdy) + Math.abs(bdxady)) * clift;
+        double bound = INCIRCLE_BOUND * permanent;
+        if(Math.abs(det) > bound)
+        {
+            return det;
+        }
+        return incircleExact(ax, ay, bx, by, cx, cy, dx, dy);
+    }
+
+    /**
+     * Orientation worked out exactly. Expanding the
+     * determinant leaves six products of coordinates
+     */
+    private static double orient2dExact(double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        double[] e = product(ax, by);
+        e = sum(e, product(-ax, cy));
+        e = sum(e, product(-cx, by));
+        e = sum(e, product(-ay, bx));
+        e = sum(e, product(ay, cx));
+        e = sum(e, product(bx, cy));
+        return e[e.length - 1];
+    }
+
+    /**
+     * In circle worked out exactly from the
+     * differences to d, each kept as an expansion
+     */
+    private static double incircleExact(double ax, double ay, double bx, double by,
+                                        double cx, double cy, double dx, double dy)
+    {
+        double[] adx = difference(ax, dx);
+        double[] ady = difference(ay, dy);
+        double[] bdx = difference(bx, dx);
+        double[] bdy = difference(by, dy);
+        double[] cdx = difference(cx, dx);
+        double[] cdy = difference(cy, dy);
+
+        double[] alift = sum(multiply(adx, adx), multiply(ady, ady));
+        double[] blift = sum(multiply(bdx, bdx), multiply(bdy, bdy));
+        double[] clift = sum(multiply(cdx, cdx), multiply(cdy, cdy));
+
+        double[] bc = sum(multiply(bdx, cdy), negate(multiply(cdx, bdy)));
+        double[] ca = sum(multiply(cdx, ady), negate(multiply(adx, cdy)));
+        double[] ab = sum(multiply(adx, bdy), negate(multiply(bdx, ady)));
+
+        double[] det = sum(multiply(alift, bc), multiply(blift, ca));
+        det = sum(det, multiply(clift, ab));
+        return det[det.length - 1];
+    }
+
+    //**********************************************************************
+    // Expansions
+    //**********************************************************************
+
+    /**
+     * @return a - b exactly
+     */
+    private static double[] difference(double a, double b)
+    {
+        double x = a - b;
+        double bv = a - x;
+        double av = x + bv;
+        double br = bv - b;
+        double ar = a - av;
+        return compact(ar + br, x);
+    }
+
+    /**
+     * @return a * b exactly
+     */
+    private static double[] product(double a, double b)
+    {
+        double x = a * b;
+        return compact(productTail(a, b, x), x);
+    }
+
+    /**
+     * @return The rounding error of x = a * b
+     */
+    private static double productTail(double a, double b, double x)
+    {
+        double c = SPLITTER * a;
+        double ahi = c - (c - a);
+        double alo = a - ahi;
+        c = SPLITTER * b;
+        double bhi = c - (c - b);
+        double blo = b - bhi;
+        double err = x - ahi * bhi;
+        err -= alo * bhi;
+        err -= ahi * blo;
+        return alo * blo - err;
+    }
+
+    /**
+     * @return Expansion of the two parts, smallest first,
+     * leaving out a zero tail
+     */
+    private static double[] compact(double tail, double head)
+    {
+        return (tail == 0.0) ? new double[] { head } : new double[] { tail, head };
+    }
+
+    /**
+     * @return e + f exactly, adding f one part at a time
+     */
+    private static double[] sum(double[] e, double[] f)
+    {
+        for(double b: f)
+        {
+            e = grow(e, b);
+        }
+        return e;
+    }
+
+    /**
+     * @return e + b exactly, without zero parts
+     */
+    private static double[] grow(double[] e, double b)
+    {
+        double[] h = new double[e.length + 1];
+        int k = 0;
+        double q = b;
+        for(double a: e)
+        {
+            double x = q + a;
+            double bv = x - q;
+            double av = x - bv;
+            double tail = (q - av) + (a - bv);
+            q = x;
+            if(tail != 0.0)
+            {
+                h[k++] = tail;
+            }
+        }
+        if(q != 0.0 || k == 0)
+        {
+            h[k++] = q;
+        }
+        return trim(h, k);
+    }
+
+    /**
+     * @return e * b exactly, without zero parts
+     */
+    private static double[] scale(double[] e, double b)
+    {
+        double[] h = new double[2 * e.length];
+        int k = 0;
+        double q = e[0] * b;
+        double tail = productTail(e[0], b, q);
+        if(tail != 0.0)
+        {
+            h[k++] = tail;
+        }
+        for(int i = 1; i < e.length; i++)
+        {
+            double hi = e[i] * b;
+            double lo = productTail(e[i], b, hi);
+
+            // q + lo
+            double s = q + lo;
+            double bv = s - q;
+            double av = s - bv;
+            tail = (q - av) + (lo - bv);
+            if(tail != 0.0)
+            {
+                h[k++] = tail;
+            }
+
+            // hi + s, where hi is the larger
+            q = hi + s;
+            tail = s - (q - hi);
+            if(tail != 0.0)
+            {
+                h[k++] = tail;
+            }
+        }
+        if(q != 0.0 || k == 0)
+        {
+            h[k++] = q;
+        }
+        return trim(h, k);
+    }
+
+    /**
+     * @return e * f exactly
+     */
+    private static double[] multiply(double[] e, double[] f)
+    {
+        double[] out = scale(e, f[0]);
+        for(int i = 1; i < f.length; i++)
+        {
+            out = sum(out, scale(e, f[i]));
+        }
+        return out;
+    }
+
+    /**
+     * @return -e exactly
+     */
+    private static double[] negate(double[] e)
+    {
+        double[] out = new double[e.length];
+        for(int i = 0; i < e.length; i++)
+        {
+            out[i] = -e[i];
+        }
+        return out;
+    }
+
+    /**
+     * @return The first k parts of h
+     */
+    private static double[] trim(double[] h, int k)
+    {
+        if(k == h.length)
+        {
+            return h;
+        }
+        double[] out = new double[k];
+        System.arraycopy(h, 0, out, 0, k);
+        return out;
+    }
+}
@@ -0,0 +1,514 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A loose region quadtree over polygon bounding circles,
+ * for picking and rectangle queries.
+ *
+ * Each node's cell is a square, but it holds any polygon
+ * whose center lies in the cell and whose radius is no
+ * bigger than the cell's half width, so its polygons stay
+ * inside a square twice the size. A polygon goes in the
+ * smallest such node, found by its center and radius
+ * alone, so adding, moving and removing are O(depth) and
+ * nothing is stuck near the top just for crossing a cell
+ * line. The root grows outward as needed.
+ *
+ * Nodes and items live in parallel arrays recycled through
+ * free lists. Empty leaves are pruned as items leave.
+ */
+class Quadtree
+{
+    // Marks a missing node or item
+    private static final int NULL = -1;
+
+    // Deepest level below the root
+    private static final int MAX_DEPTH = 20;
+
+    // Node cells: center and half width
+    private float[] cx;
+    private float[] cy;
+    private float[] half;
+
+    // Node links, four children per node. Free nodes
+    // chain through parent
+    private int[] parent;
+    private int[] child;
+
+    // First item held by each node
+    private int[] head;
+
+    // Items: polygon, holding node and links
+    // among the node's items. Free items chain
+    // through next
+    private Polygon[] item;
+    private int[] itemNode;
+    private int[] next;
+    private int[] prev;
+
+    // Tree state
+    private int root = NULL;
+    private int freeNodes = NULL;
+    private int freeItems = NULL;
+    private int nodeCount = 0;
+    private int itemCount = 0;
+
+    // Traversal stack reused by the queries
+    private int[] stack = new int[64];
+
+    /**
+     * Construct an empty tree
+     */
+    public Quadtree()
+    {
+        this.growNodes(16);
+        this.growItems(16);
+    }
+
+    //**********************************************************************
+    // Maintenance
+    //**********************************************************************
+
+    /**
+     * Start indexing a polygon
+     *
+     * @param p: The added polygon
+     */
+    public void add(Polygon p)
+    {
+        if(this.freeItems == NULL)
+        {
+            this.growItems(this.item.length * 2);
+        }
+        int id = this.freeItems;
+        this.freeItems = this.next[id];
+        this.item[id] = p;
+        this.itemCount++;
+        p.quad = id;
+        this.link(id, this.target(p));
+    }
+
+    /**
+     * Stop indexing a polygon
+     *
+     * @param p: The removed polygon
+     */
+    public void remove(Polygon p)
+    {
+        int id = p.quad;
+        this.prune(this.unlink(id));
+        this.item[id] = null;
+        this.next[id] = this.freeItems;
+        this.freeItems = id;
+        this.itemCount--;
+        p.quad = NULL;
+    }
+
+    /**
+     * An indexed polygon moved, turned or changed
+     * size. Only relinks it if its node changed
+     *
+     * @param p: The changed polygon
+     */
+    public void moved(Polygon p)
+    {
+        int id = p.quad;
+        int node = this.target(p);
+        if(node != this.itemNode[id])
+        {
+            // Link before pruning, the new node may
+            // be an empty ancestor of the old one
+            int old = this.unlink(id);
+            this.link(id, node);
+            this.prune(old);
+        }
+    }
+
+    //**********************************************************************
+    // Queries
+    //**********************************************************************
+
+    /**
+     * Find the topmost polygon containing a point,
+     * the one added last as it is drawn last
+     *
+     * @param x: X coordinate
+     * @param y: Y coordinate
+     *
+     * @return Collection index of the polygon, or -1
+     */
+    public int pick(float x, float y)
+    {
+        int best = NULL;
+        int top = this.push(0, this.root);
+        while(top > 0)
+        {
+            int node = this.stack[--top];
+            if(node == NULL || !this.looseOverlaps(node, x, y, x, y))
+            {
+                continue;
+            }
+            for(int id = this.head[node]; id != NULL; id = this.next[id])
+            {
+                Polygon q = this.item[id];
+                if(q.index > best && q.contains(x, y))
+                {
+                    best = q.index;
+                }
+            }
+            top = this.pushChildren(top, node);
+        }
+        return best;
+    }
+
+    /**
+     * Find the polygons whose bounding box
+     * overlaps a rectangle
+     *
+     * @param x0: Left edge
+     * @param y0: Bottom edge
+     * @param x1: Right edge
+     * @param y1: Top edge
+     * @param out: Receives the polygons
+     */
+    public void query(float x0, float y0, float x1, float y1, ArrayList<Polygon> out)
+    {
+        int top = this.push(0, this.root);
+        while(top > 0)
+        {
+            int node = this.stack[--top];
+            if(node == NULL || !this.looseOverlaps(node, x0, y0, x1, y1))
+            {
+                continue;
+            }
+            for(int id = this.head[node]; id != NULL; id = this.next[id])
+            {
+                Polygon q = this.item[id];
+                if(x0 <= q.getMaxX() && q.getMinX() <= x1 &&
+                   y0 <= q.getMaxY() && q.getMinY() <= y1)
+                {
+                    out.add(q);
+                }
+            }
+            top = this.pushChildren(top, node);
+        }
+    }
+
+    /**
+     * @return Number of indexed polygons
+     */
+    public int size()
+    {
+        return this.itemCount;
+    }
+
+    /**
+     * @return Number of nodes in use
+     */
+    public int getNodeCount()
+    {
+        return this.nodeCount;
+    }
+
+    //**********************************************************************
+    // Tree maintenance
+    //**********************************************************************
+
+    /**
+     * Find the node a polygon belongs in, growing
+     * the root and making nodes on the way down
+     *
+     * @param p: Polygon to place
+     *
+     * @return The smallest node whose cell holds the
+     * polygon's center and is at least its size
+     */
+    private int target(Polygon p)
+    {
+        // Picks test the bounding circle, which
+        // covers the polygon's box as well
+        final float x = p.center.getFloatX();
+        final float y = p.center.getFloatY();
+        final float e = Math.abs(p.getRadius());
+
+        if(this.root == NULL)
+        {
+            this.root = this.allocateNode(x, y, Math.max(2f * e, 1f));
+        }
+        while(!this.fits(this.root, x, y, e))
+        {
+            this.growRoot(x, y);
+        }
+
+        int node = this.root;
+        for(int depth = 0; depth < MAX_DEPTH && e <= 0.5f * this.half[node]; depth++)
+        {
+            int q = this.quadrant(node, x, y);
+            int c = this.child[4*node + q];
+            if(c == NULL)
+            {
+                float h = 0.5f * this.half[node];
+                float ncx = this.cx[node] + (((q & 1) != 0) ? h : -h);
+                float ncy = this.cy[node] + (((q & 2) != 0) ? h : -h);
+                c = this.allocateNode(ncx, ncy, h);
+                this.parent[c] = node;
+                this.child[4*node + q] = c;
+            }
+            node = c;
+        }
+        return node;
+    }
+
+    /**
+     * Double the root's cell toward a point,
+     * keeping the old root as a quadrant
+     */
+    private void growRoot(float x, float y)
+    {
+        final int old = this.root;
+        final float h = this.half[old];
+        float ncx = this.cx[old] + ((x >= this.cx[old]) ? h : -h);
+        float ncy = this.cy[old] + ((y >= this.cy[old]) ? h : -h);
+        int r = this.allocateNode(ncx, ncy, 2f * h);
+        this.child[4*r + this.quadrant(r, this.cx[old], this.cy[old])] = old;
+        this.parent[old] = r;
+        this.root = r;
+    }
+
+    /**
+     * Put an item at the front of a node's list
+     */
+    private void link(int id, int node)
+    {
+        this.itemNode[id] = node;
+        this.prev[id] = NULL;
+        this.next[id] = this.head[node];
+        if(this.head[node] != NULL)
+        {
+            this.prev[this.head[node]] = id;
+        }
+        this.head[node] = id;
+    }
+
+    /**
+     * Take an item out of its node's list
+     *
+     * @return The node it was in
+     */
+    private int unlink(int id)
+    {
+        int node = this.itemNode[id];
+        if(this.prev[id] != NULL)
+        {
+            this.next[this.prev[id]] = this.next[id];
+        }
+        else
+        {
+            this.head[node] = this.next[id];
+        }
+        if(this.next[id] != NULL)
+        {
+            this.prev[this.next[id]] = this.prev[id];
+        }
+        this.itemNode[id] = NULL;
+        return node;
+    }
+
+    /**
+     * Free a node and its ancestors while they
+     * are empty leaves
+     */
+    private void prune(int node)
+    {
+        while(node != this.root && this.head[node] == NULL && this.isLeaf(node))
+        {
+            int up = this.parent[node];
+            for(int q = 0; q < 4; q++)
+            {
+                if(this.child[4*up + q] == node)
+                {
+                    this.child[4*up + q] = NULL;
+                }
+            }
+            this.freeNode(node);
+            node = up;
+        }
+    }
+
+    //**********************************************************************
+    // Helpers
+    //**********************************************************************
+
+    /**
+     * @return If a node's cell holds a center and
+     * is at least as big as the extent
+     */
+    private boolean fits(int node, float x, float y, float e)
+    {
+        float h = this.half[node];
+        return e <= h &&
+               Math.abs(x - this.cx[node]) <= h &&
+               Math.abs(y - this.cy[node]) <= h;
+    }
+
+    /**
+     * @return Child slot holding a point, bit 0 set
+     * for the right half and bit 1 for the top
+     */
+    private int quadrant(int node, float x, float y)
+    {
+        return ((x >= this.cx[node]) ? 1 : 0) | ((y >= this.cy[node]) ? 2 : 0);
+    }
+
+    /**
+     * @return If the loose bounds of a node,
+     * twice its cell, overlap a rectangle
+     */
+    private boolean looseOverlaps(int node, float x0, float y0, float x1, float y1)
+    {
+        float l = 2f * this.half[node];
+        return x0 <= this.cx[node] + l && this.cx[node] - l <= x1 &&
+               y0 <= this.cy[node] + l && this.cy[node] - l <= y1;
+    }
+
+    /**
+     * @return If a node has no children
+     */
+    private boolean isLeaf(int node)
+    {
+        int c = 4*node;
+        return this.child[c] == NULL && this.child[c + 1] == NULL &&
+               this.child[c + 2] == NULL && this.child[c + 3] == NULL;
+    }
+
+    /**
+     * Push a node's children onto the traversal stack
+     *
+     * @return New stack size
+     */
+    private int pushChildren(int top, int node)
+    {
+        for(int q = 0; q < 4; q++)
+        {
+            int c = this.child[4*node + q];
+            if(c != NULL)
+            {
+                top = this.push(top, c);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Push onto the traversal stack
+     *
+     * @return New stack size
+     */
+    private int push(int top, int node)
+    {
+        if(top == this.stack.length)
+        {
+            this.stack = Arrays.copyOf(this.stack, top * 2);
+        }
+        this.stack[top] = node;
+        return top + 1;
+    }
+
+    /**
+     * Take a node off the free list
+     */
+    private int allocateNode(float x, float y, float h)
+    {
+        if(this.freeNodes == NULL)
+        {
+            this.growNodes(this.parent.length * 2);
+        }
+        int node = this.freeNodes;
+        this.freeNodes = this.parent[node];
+        this.cx[node] = x;
+        this.cy[node] = y;
+        this.half[node] = h;
+        this.parent[node] = NULL;
+        this.head[node] = NULL;
+        Arrays.fill(this.child, 4*node, 4*node + 4, NULL);
+        this.nodeCount++;
+        return node;
+    }
+
+    /**
+     * Put a node back on the free list
+     */
+    private void freeNode(int node)
+    {
+        this.parent[node] = this.freeNodes;
+        this.freeNodes = node;
+        this.nodeCount--;
+    }
+
+    /**
+     * Grow the node arrays, chaining the new
+     * nodes onto the free list
+     */
+    private void growNodes(int capacity)
+    {
+        int old = (this.parent == null) ? 0 : this.parent.length;
+        if(old == 0)
+        {
+            this.cx = new float[capacity];
+            this.cy = new float[capacity];
+            this.half = new float[capacity];
+            this.parent = new int[capacity];
+            this.child = new int[4 * capacity];
+            this.head = new int[capacity];
+        }
+        else
+        {
+            this.cx = Arrays.copyOf(this.cx, capacity);
+            this.cy = Arrays.copyOf(this.cy, capacity);
+            this.half = Arrays.copyOf(this.half, capacity);
+            this.parent = Arrays.copyOf(this.parent, capacity);
+            this.child = Arrays.copyOf(this.child, 4 * capacity);
+            this.head = Arrays.copyOf(this.head, capacity);
+        }
+        for(int i = old; i < capacity - 1; i++)
+        {
+            this.parent[i] = i + 1;
+        }
+        this.parent[capacity - 1] = this.freeNodes;
+        this.freeNodes = old;
+    }
+
+    /**
+     * Grow the item arrays, chaining the new
+     * items onto the free list
+     */
+    private void growItems(int capacity)
+    {
+        int old = (this.item == null) ? 0 : this.item.length;
+        if(old == 0)
+        {
+            this.item = new Polygon[capacity];
+            this.itemNode = new int[capacity];
+            this.next = new int[capacity];
+            this.prev = new int[capacity];
+        }
+        else
+        {
+            this.item = Arrays.copyOf(this.item, capacity);
+            this.itemNode = Arrays.copyOf(this.itemNode, capacity);
+            this.next = Arrays.copyOf(this.next, capacity);
+            this.prev = Arrays.copyOf(this.prev, capacity);
+        }
+        for(int i = old; i < capacity - 1; i++)
+        {
+            this.next[i] = i + 1;
+        }
+        this.next[capacity - 1] = this.freeItems;
+        this.freeItems = old;
+    }
+}
@@ -0,0 +1,591 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * QuickHull on a work stealing pool, for hulls over
+ * millions of points.
+ *
+ * Before anything else, the points furthest along eight
+ * directions are found and every point strictly inside
+ * the octagon they make is thrown away (Akl-Toussaint),
+ * which leaves very little of a dense cloud. The rest is
+ * split by the line from the leftmost to the rightmost
+ * point, and each side is recursively split at the point
+ * furthest from its line. Both halves of a split run in
+ * parallel, and big sets are scanned and split in chunks
+ * so the first levels do not run on one thread.
+ *
+ * Keeps index buffers between calls, so use one per thread.
+ */
+final class QuickHull implements HullAlgorithm
+{
+    // Points handled by one leaf task. Sets
+    // smaller than this stay on one thread
+    static final int CHUNK = 1 << 14;
+
+    // Nothing found
+    private static final int[] NONE = new int[0];
+
+    // Workers
+    private final ForkJoinPool pool;
+
+    // Points left to place, and scratch that splits
+    // scatter into before copying back
+    private int[] keep = new int[16];
+    private int[] spare = new int[16];
+
+    // Point columns for the current call
+    private float[] xs;
+    private float[] ys;
+
+    /**
+     * Construct on the common pool
+     */
+    public QuickHull()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct on a given pool
+     *
+     * @param pool: Workers to run on
+     */
+    public QuickHull(ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Find the hull of the first n points
+     *
+     * @param xs: X coordinates
+     * @param ys: Y coordinates
+     * @param n: Number of points
+     * @param out: Receives the indices of the hull points in
+     * counter clockwise order, needs room for n of them
+     *
+     * @return Number of hull points written to out
+     */
+    public int compute(float[] xs, float[] ys, int n, int[] out)
+    {
+        if(n < 3)
+        {
+            for(int i = 0; i < n; i++)
+            {
+                out[i] = i;
+            }
+            return n;
+        }
+        if(this.keep.length < n)
+        {
+            this.keep = new int[n];
+            this.spare = new int[n];
+        }
+        this.xs = xs;
+        this.ys = ys;
+        try
+        {
+            return this.run(n, out);
+        }
+        finally
+        {
+            this.xs = null;
+            this.ys = null;
+        }
+    }
+
+    /**
+     * Filter, split and recurse
+     */
+    private int run(int n, int[] out)
+    {
+        final int[] keep = this.keep;
+        for(int i = 0; i < n; i++)
+        {
+            keep[i] = i;
+        }
+
+        // Extreme points, counter clockwise from the left
+        int[] ext = new int[8];
+        this.invoke(new Pass(Pass.EXTREMES, 0, n, -1, -1, ext));
+        int a = ext[0];
+        int b = ext[4];
+        if(a == b)
+        {
+            // Every point is the same
+            out[0] = a;
+            return 1;
+        }
+
+        // Drop everything strictly inside the octagon
+        int[] octagon = new int[8];
+        int sides = 0;
+        for(int i = 0; i < 8; i++)
+        {
+            if(sides == 0 || !this.same(ext[i], octagon[sides - 1]))
+            {
+                octagon[sides++] = ext[i];
+            }
+        }
+        while(sides > 1 && this.same(octagon[sides - 1], octagon[0]))
+        {
+            sides--;
+        }
+        int left = n;
+        if(sides >= 3)
+        {
+            int[] corners = new int[sides];
+            System.arraycopy(octagon, 0, corners, 0, sides);
+            Pass filter = new Pass(Pass.FILTER, 0, n, -1, -1, corners);
+            this.invoke(filter);
+            left = filter.first;
+        }
+
+        // Below the line from a to b, then above it
+        Pass split = new Pass(Pass.SPLIT, 0, left, a, -1, new int[] { b, a });
+        this.invoke(split);
+        int below = split.first;
+        int above = split.second;
+        int[] lower = this.invoke(new Side(a, b, 0, below));
+        int[] upper = this.invoke(new Side(b, a, below, below + above));
+
+        int k = 0;
+        out[k++] = a;
+        System.arraycopy(lower, 0, out, k, lower.length);
+        k += lower.length;
+        out[k++] = b;
+        System.arraycopy(upper, 0, out, k, upper.length);
+        k += upper.length;
+
+        // The furthest point is only picked by a rounded
+        // distance, so a near tie can leave a point just
+        // inside the hull. Walk the hull once and drop
+        // anything that is not a strict left turn
+        int m = 0;
+        for(int i = 0; i < k; i++)
+        {
+            while(m >= 2 && this.cross(out[m - 2], out[m - 1], out[i]) <= 0.0)
+            {
+                m--;
+            }
+            out[m++] = out[i];
+        }
+        while(m >= 3 && this.cross(out[m - 2], out[m - 1], out[0]) <= 0.0)
+        {
+            m--;
+        }
+        return m;
+    }
+
+    /**
+     * Run a pass on the pool if it is big enough
+     * to split, otherwise on this thread
+     */
+    private void invoke(Pass pass)
+    {
+        if(pass.hi - pass.lo > CHUNK)
+        {
+            this.pool.invoke(pass);
+        }
+        else
+        {
+            pass.compute();
+        }
+    }
+
+    /**
+     * Run a side on the pool if it is big enough
+     * to split, otherwise on this thread
+     */
+    private int[] invoke(Side side)
+    {
+        if(side.hi - side.lo > CHUNK)
+        {
+            return this.pool.invoke(side);
+        }
+        return side.compute();
+    }
+
+    /**
+     * @return If points i and j are in the same place
+     */
+    private boolean same(int i, int j)
+    {
+        return this.xs[i] == this.xs[j] && this.ys[i] == this.ys[j];
+    }
+
+    /**
+     * @return Twice the signed area of p, q, r. Positive when
+     * r is left of the line from p to q, negative when right
+     */
+    private double cross(int p, int q, int r)
+    {
+        final float[] xs = this.xs;
+        final float[] ys = this.ys;
+        return Predicates.orient2d(xs[p], ys[p], xs[q], ys[q], xs[r], ys[r]);
+    }
+
+    /**
+     * Finds the hull points strictly right of the line from
+     * p to q, in order from p to q, ends not included. The
+     * points to look at are keep[lo, hi), all right of the line
+     */
+    @SuppressWarnings("serial")
+    private final class Side extends RecursiveTask<int[]>
+    {
+        // Line the points sit right of
+        private final int p;
+        private final int q;
+
+        // Range of keep, end exclusive
+        private final int lo;
+        private final int hi;
+
+        Side(int p, int q, int lo, int hi)
+        {
+            this.p = p;
+            this.q = q;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute()
+        {
+            if(this.hi == this.lo)
+            {
+                return NONE;
+            }
+
+            // Furthest point from the line is on the hull
+            Pass far = new Pass(Pass.FARTHEST, this.lo, this.hi, this.p, this.q, null);
+            far.compute();
+            int f = far.first;
+
+            // Points right of p to f, then right of f to q
+            Pass split = new Pass(Pass.SPLIT, this.lo, this.hi, this.p, -1, new int[] { f, this.q });
+            split.compute();
+            int mid = this.lo + split.first;
+            int end = mid + split.second;
+
+            Side before = new Side(this.p, f, this.lo, mid);
+            Side after = new Side(f, this.q, mid, end);
+            int[] b;
+            int[] a;
+            if(end - this.lo > CHUNK)
+            {
+                before.fork();
+                a = after.compute();
+                b = before.join();
+            }
+            else
+            {
+                b = before.compute();
+                a = after.compute();
+            }
+
+            int[] hull = new int[b.length + 1 + a.length];
+            System.arraycopy(b, 0, hull, 0, b.length);
+            hull[b.length] = f;
+            System.arraycopy(a, 0, hull, b.length + 1, a.length);
+            return hull;
+        }
+    }
+
+    /**
+     * One scan over keep[lo, hi), cut into chunks that run
+     * in parallel. Each chunk keeps its own result and the
+     * results are combined in chunk order once all finish
+     */
+    @SuppressWarnings("serial")
+    private final class Pass extends RecursiveAction
+    {
+        // Find the points furthest in eight directions
+        static final int EXTREMES = 0;
+
+        // Drop points strictly inside a convex polygon
+        static final int FILTER = 1;
+
+        // Split points right of the line from p to data[0]
+        // from those right of data[0] to data[1]
+        static final int SPLIT = 2;
+
+        // Find the point furthest right of a line
+        static final int FARTHEST = 3;
+
+        private final int op;
+
+        // Range of keep, end exclusive
+        private final int lo;
+        private final int hi;
+
+        // Line for FARTHEST, or start of the first line for SPLIT
+        private final int p;
+        private final int q;
+
+        // EXTREMES result, FILTER polygon, or
+        // the rest of the SPLIT lines
+        private final int[] data;
+
+        // Results, meaning depends on op
+        int first;
+        int second;
+
+        // Per chunk results
+        private int[] best;
+        private int[] counts;
+        private int[] extremes;
+
+        Pass(int op, int lo, int hi, int p, int q, int[] data)
+        {
+            this.op = op;
+            this.lo = lo;
+            this.hi = hi;
+            this.p = p;
+            this.q = q;
+            this.data = data;
+        }
+
+        @Override
+        protected void compute()
+        {
+            final int chunks = Math.max(1, (this.hi - this.lo + CHUNK - 1) / CHUNK);
+            this.best = new int[chunks];
+            this.counts = new int[2 * chunks];
+            if(this.op == EXTREMES)
+            {
+                this.extremes = new int[8 * chunks];
+            }
+            if(chunks == 1)
+            {
+                this.chunk(0);
+            }
+            else
+            {
+                new Chunks(this, 0, chunks).compute();
+            }
+            this.combine(chunks);
+        }
+
+        /**
+         * Scan one chunk
+         */
+        void chunk(int c)
+        {
+            final int[] keep = QuickHull.this.keep;
+            final int[] spare = QuickHull.this.spare;
+            final float[] xs = QuickHull.this.xs;
+            final float[] ys = QuickHull.this.ys;
+            final int start = this.lo + c * CHUNK;
+            final int end = Math.min(this.hi, start + CHUNK);
+
+            if(this.op == EXTREMES)
+            {
+                int[] e = new int[8];
+                for(int k = 0; k < 8; k++)
+                {
+                    e[k] = keep[start];
+                }
+                for(int i = start + 1; i < end; i++)
+                {
+                    int j = keep[i];
+                    extreme(e, j, xs, ys);
+                }
+                System.arraycopy(e, 0, this.extremes, 8 * c, 8);
+            }
+            else if(this.op == FILTER)
+            {
+                // Survivors are packed to the front of the chunk
+                final int[] poly = this.data;
+                int kept = start;
+                for(int i = start; i < end; i++)
+                {
+                    int j = keep[i];
+                    boolean inside = true;
+                    for(int k = 0; k < poly.length && inside; k++)
+                    {
+                        inside = QuickHull.this.cross(poly[k], poly[(k + 1) % poly.length], j) > 0.0;
+                    }
+                    if(!inside)
+                    {
+                        keep[kept++] = j;
+                    }
+                }
+                this.counts[c] = kept - start;
+            }
+            else if(this.op == SPLIT)
+            {
+                // First group from the front of the chunk in
+                // spare, second group from the back
+                final int f = this.data[0];
+                final int g = this.data[1];
+                int front = start;
+                int back = end;
+                for(int i = start; i < end; i++)
+                {
+                    int j = keep[i];
+                    if(QuickHull.this.cross(this.p, f, j) < 0.0)
+                    {
+                        spare[front++] = j;
+                    }
+                    else if(QuickHull.this.cross(f, g, j) < 0.0)
+                    {
+                        spare[--back] = j;
+                    }
+                }
+                this.counts[2 * c] = front - start;
+                this.counts[2 * c + 1] = end - back;
+            }
+            else
+            {
+                double low = 0.0;
+                int found = -1;
+                for(int i = start; i < end; i++)
+                {
+                    int j = keep[i];
+                    double d = QuickHull.this.cross(this.p, this.q, j);
+                    if(d < low)
+                    {
+                        low = d;
+                        found = j;
+                    }
+                }
+                this.best[c] = found;
+            }
+        }
+
+        /**
+         * Fold the chunk results together
+         */
+        private void combine(int chunks)
+        {
+            final int[] keep = QuickHull.this.keep;
+            final int[] spare = QuickHull.this.spare;
+            final float[] xs = QuickHull.this.xs;
+            final float[] ys = QuickHull.this.ys;
+
+            if(this.op == EXTREMES)
+            {
+                int[] e = this.data;
+                System.arraycopy(this.extremes, 0, e, 0, 8);
+                for(int c = 1; c < chunks; c++)
+                {
+                    for(int k = 0; k < 8; k++)
+                    {
+                        extreme(e, this.extremes[8 * c + k], xs, ys);
+                    }
+                }
+            }
+            else if(this.op == FILTER)
+            {
+                int to = this.lo;
+                for(int c = 0; c < chunks; c++)
+                {
+                    System.arraycopy(keep, this.lo + c * CHUNK, keep, to, this.counts[c]);
+                    to += this.counts[c];
+                }
+                this.first = to - this.lo;
+            }
+            else if(this.op == SPLIT)
+            {
+                // Both groups back into keep, one after the other
+                int to = this.lo;
+                for(int c = 0; c < chunks; c++)
+                {
+                    System.arraycopy(spare, this.lo + c * CHUNK, keep, to, this.counts[2 * c]);
+                    to += this.counts[2 * c];
+                }
+                this.first = to - this.lo;
+                for(int c = 0; c < chunks; c++)
+                {
+                    int end = Math.min(this.hi, this.lo + (c + 1) * CHUNK);
+                    int n = this.counts[2 * c + 1];
+                    System.arraycopy(spare, end - n, keep, to, n);
+                    to += n;
+                }
+                this.second = to - this.lo - this.first;
+            }
+            else
+            {
+                double low = 0.0;
+                int found = -1;
+                for(int c = 0; c < chunks; c++)
+                {
+                    int j = this.best[c];
+                    if(j == -1)
+                    {
+                        continue;
+                    }
+                    double d = QuickHull.this.cross(this.p, this.q, j);
+                    if(found == -1 || d < low)
+                    {
+                        low = d;
+                        found = j;
+                    }
+                }
+                this.first = found;
+            }
+        }
+    }
+
+    /**
+     * Runs a range of a pass's chunks, splitting
+     * in half until only one is left
+     */
+    @SuppressWarnings("serial")
+    private static final class Chunks extends RecursiveAction
+    {
+        private final Pass pass;
+
+        // Range of chunks, end exclusive
+        private final int lo;
+        private final int hi;
+
+        Chunks(Pass pass, int lo, int hi)
+        {
+            this.pass = pass;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.hi - this.lo > 1)
+            {
+                int mid = (this.lo + this.hi) >>> 1;
+                invokeAll(new Chunks(this.pass, this.lo, mid),
+                          new Chunks(this.pass, mid, this.hi));
+                return;
+            }
+            this.pass.chunk(this.lo);
+        }
+    }
+
+    /**
+     * Let point j replace any of the eight extremes it beats.
+     * In order: left, lower left, bottom, lower right, right,
+     * upper right, top, upper left. Left takes the lowest of
+     * ties and right the highest, so they are hull points
+     */
+    private static void extreme(int[] e, int j, float[] xs, float[] ys)
+    {
+        final float x = xs[j];
+        final float y = ys[j];
+        if(x < xs[e[0]] || (x == xs[e[0]] && y < ys[e[0]])) e[0] = j;
+        if(x + y < xs[e[1]] + ys[e[1]]) e[1] = j;
+        if(y < ys[e[2]]) e[2] = j;
+        if(x - y > xs[e[3]] - ys[e[3]]) e[3] = j;
+        if(x > xs[e[4]] || (x == xs[e[4]] && y > ys[e[4]])) e[4] = j;
+        if(x + y > xs[e[5]] + ys[e[5]]) e[5] = j;
+        if(y > ys[e[6]]) e[6] = j;
+        if(x - y < xs[e[7]] - ys[e[7]]) e[7] = j;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * The nodes that can be placed, each with a name, a
+ * number of sides and a color, addressed by a dense
+ * id from 0 to size()-1. Nothing changes once built,
+ * so a roster can be read from any thread
+ */
+interface Roster
+{
+    /**
+     * @return Number of nodes
+     */
+    public int size();
+
+    /**
+     * Look up a node by name
+     *
+     * @param name: Name to find
+     *
+     * @return Id of the node, or -1 if there is none
+     */
+    public int getId(String name);
+
+    /**
+     * @param id: Node id
+     *
+     * @return Name of the node
+     */
+    public String getName(int id);
+
+    /**
+     * @param id: Node id
+     *
+     * @return Number of sides of the node
+     */
+    public int getSides(int id);
+
+    /**
+     * @param id: Node id
+     *
+     * @return RGB color of the node
+     */
+    public int getColor(int id);
+}
@@ -0,0 +1,42 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts a text roster to the memory mapped format:
+ *
+ *     java edu.ou.cs.cg.homework.RosterConverter nodes.csv nodes.roster
+ *
+ * Homework05 opens the result far faster than the text
+ */
+public final class RosterConverter
+{
+    /**
+     * @param args: Text roster to read, binary roster to write
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length != 2)
+        {
+            System.err.println("Usage: RosterConverter <text roster> <binary roster>");
+            System.exit(2);
+        }
+        Path in = Paths.get(args[0]);
+        Path out = Paths.get(args[1]);
+
+        RosterLoader loader = new RosterLoader();
+        Roster roster = loader.load(in);
+        System.out.printf("Read %d nodes at %.0f rows/s, peak heap %d MB%n",
+                          loader.getRows(), loader.getRowsPerSecond(), loader.getPeakHeap() >> 20);
+
+        long start = System.nanoTime();
+        MappedRoster.write(roster, out);
+        System.out.printf("Wrote %d bytes in %.1f ms%n", Files.size(out), (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a roster from a text file with one node per line:
+ *
+ *     name,sides,color
+ *
+ * where sides is a decimal count, 1 for a point or 3 to
+ * VertexTemplate.MAX_SIDES, and color is a hex RGB
+ * value, with or without a leading # or 0x. The name is
+ * everything before the last two commas, so it may hold
+ * commas itself. Blank lines and lines starting with #
+ * are skipped.
+ *
+ * The file is read through one reused byte buffer and each
+ * line is parsed in place, so the only objects made per
+ * row are the name strings the roster keeps.
+ */
+class RosterLoader
+{
+    // Bytes read from the file at a time
+    private static final int BUFFER = 1 << 16;
+
+    // Node columns, grown as rows arrive
+    private String[] names = new String[1024];
+    private int[] sides = new int[1024];
+    private int[] colors = new int[1024];
+    private int rows = 0;
+
+    // Stats of the last load
+    private long nanos = 0;
+    private long peakHeap = 0;
+
+    /**
+     * Read a roster file
+     *
+     * @param path: File to read
+     *
+     * @return The roster in the file
+     *
+     * @throws IOException if the file cannot be
+     * read or a line is malformed
+     */
+    public Roster load(Path path) throws IOException
+    {
+        long start = System.nanoTime();
+        this.rows = 0;
+        this.peakHeap = 0;
+        this.sampleHeap();
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+        int line = 1;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            boolean eof = false;
+            while(!eof)
+            {
+                eof = channel.read(buffer) == -1;
+                this.sampleHeap();
+
+                // Parse every complete line in the buffer, and
+                // the last partial one once the file is done
+                byte[] bytes = buffer.array();
+                int end = buffer.position();
+                int from = 0;
+                for(int i = 0; i < end; i++)
+                {
+                    if(bytes[i] == '\n')
+                    {
+                        this.parse(bytes, from, i, line++);
+                        from = i + 1;
+                    }
+                }
+                if(eof && from < end)
+                {
+                    this.parse(bytes, from, end, line++);
+                    from = end;
+                }
+
+                // Keep the partial line, growing
+                // the buffer if it fills it
+                buffer.position(from);
+                buffer.limit(end);
+                buffer.compact();
+                if(!buffer.hasRemaining())
+                {
+                    ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    bigger.put(buffer);
+                    buffer = bigger;
+                }
+            }
+        }
+
+        this.nanos = System.nanoTime() - start;
+        this.sampleHeap();
+        Roster roster = new ArrayRoster(this.names, this.sides, this.colors, this.rows);
+
+        // The roster owns the columns now
+        this.names = new String[1024];
+        this.sides = new int[1024];
+        this.colors = new int[1024];
+        return roster;
+    }
+
+    /**
+     * @return Rows read by the last load
+     */
+    public int getRows()
+    {
+        return this.rows;
+    }
+
+    /**
+     * @return Rows per second of the last load
+     */
+    public double getRowsPerSecond()
+    {
+        return (this.nanos == 0) ? 0.0 : this.rows * 1e9 / this.nanos;
+    }
+
+    /**
+     * @return Most heap in use seen during the last load,
+     * sampled each time the buffer is refilled, in bytes
+     */
+    public long getPeakHeap()
+    {
+        return this.peakHeap;
+    }
+
+    /**
+     * Parse one line and add its node
+     *
+     * @param b: Bytes holding the line
+     * @param from: Start of the line
+     * @param to: End of the line, exclusive
+     * @param line: Line number, for errors
+     */
+    private void parse(byte[] b, int from, int to, int line) throws IOException
+    {
+        if(to > from && b[to - 1] == '\r')
+        {
+            to--;
+        }
+        if(to == from || b[from] == '#')
+        {
+            return;
+        }
+
+        // The last two commas end the name and the sides
+        int second = to - 1;
+        while(second >= from && b[second] != ',')
+        {
+            second--;
+        }
+        int first = second - 1;
+        while(first >= from && b[first] != ',')
+        {
+            first--;
+        }
+        if(first < from)
+        {
+            throw new IOException("Line " + line + ": expected name,sides,color");
+        }
+
+        int sides = parseInt(b, first + 1, second, 10, line);
+        if(!VertexTemplate.isValidSides(sides))
+        {
+            throw new IOException("Line " + line + ": sides must be 1 or 3 to " + VertexTemplate.MAX_SIDES);
+        }
+        int color = parseInt(b, second + 1, to, 16, line);
+        String name = new String(b, from, first - from, StandardCharsets.UTF_8).trim();
+
+        if(this.rows == this.names.length)
+        {
+            int size = this.rows * 2;
+            this.names = Arrays.copyOf(this.names, size);
+            this.sides = Arrays.copyOf(this.sides, size);
+            this.colors = Arrays.copyOf(this.colors, size);
+        }
+        this.names[this.rows] = name;
+        this.sides[this.rows] = sides;
+        this.colors[this.rows] = color;
+        this.rows++;
+    }
+
+    /**
+     * Parse a non negative number from bytes, skipping
+     * spaces around it and a # or 0x before hex
+     */
+    private static int parseInt(byte[] b, int from, int to, int radix, int line) throws IOException
+    {
+        while(from < to && b[from] == ' ')
+        {
+            from++;
+        }
+        while(to > from && b[to - 1] == ' ')
+        {
+            to--;
+        }
+        if(radix == 16)
+        {
+            if(from < to && b[from] == '#')
+            {
+                from++;
+            }
+            else if(to - from > 2 && b[from] == '0' && (b[from + 1] == 'x' || b[from + 1] == 'X'))
+            {
+                from += 2;
+            }
+        }
+        if(from == to)
+        {
+            throw new IOException("Line " + line + ": missing number");
+        }
+
+        int value = 0;
+        for(int i = from; i < to; i++)
+        {
+            int digit = Character.digit(b[i], radix);
+            if(digit < 0 || value > (Integer.MAX_VALUE - digit) / radix)
+            {
+                throw new IOException("Line " + line + ": bad number");
+            }
+            value = value * radix + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Note how much heap is in use
+     */
+    private void sampleHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        this.peakHeap = Math.max(this.peakHeap, runtime.totalMemory() - runtime.freeMemory());
+    }
+}
@@ -0,0 +1,372 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * Separating axis test for two convex polygons.
+ *
+ * Only the side normals can separate two convex polygons.
+ * For each side of one polygon the other polygon's nearest
+ * and farthest vertices along the normal are tracked by
+ * walking forward, since both turn the same way as the
+ * sides do, which keeps the test O(n+m) instead of O(n*m).
+ *
+ * Keeps scratch state, so use one per thread.
+ */
+final class Sat
+{
+    // Result of the last side query
+    private float sep;
+    private float far;
+    private float nx;
+    private float ny;
+    private int edge;
+    private int nearest;
+
+    /**
+     * Test two polygons for overlap
+     *
+     * @param a: First polygon
+     * @param b: Second polygon
+     * @param out: Receives normal, depth, sides, contact
+     * points and containment if they overlap
+     *
+     * @return If the polygons overlap, including
+     * one being inside the other
+     */
+    public boolean collide(Polygon a, Polygon b, Contact out)
+    {
+        int n = a.getVertexCount();
+        int m = b.getVertexCount();
+        if(n <= 1 && m <= 1)
+        {
+            return false;
+        }
+
+        // The walk needs sides on the first polygon,
+        // so turn a point against polygon around
+        if(n <= 1)
+        {
+            if(!this.collide(b, a, out))
+            {
+                return false;
+            }
+            out.normalX = -out.normalX;
+            out.normalY = -out.normalY;
+            boolean t = out.firstContainsSecond;
+            out.firstContainsSecond = out.secondContainsFirst;
+            out.secondContainsFirst = t;
+            int e = out.firstEdge;
+            out.firstEdge = out.secondEdge;
+            out.secondEdge = e;
+            return true;
+        }
+
+        // Sides of a
+        PolygonStore as = a.vertices();
+        PolygonStore bs = b.vertices();
+        this.query(as.getX(), as.getY(), a.offset(), n, bs.getX(), bs.getY(), b.offset(), m, 0f, 0f);
+        if(this.separated(as.getX(), as.getY(), a.offset(), n, bs.getX(), bs.getY(), b.offset(), m))
+        {
+            return false;
+        }
+        float sepA = this.sep;
+        float nxA = this.nx;
+        float nyA = this.ny;
+        int edgeA = this.edge;
+        int nearA = this.nearest;
+        boolean aHoldsB = this.far <= 0f;
+
+        // Sides of b, if it has any
+        float sepB = -Float.MAX_VALUE;
+        float nxB = 0f;
+        float nyB = 0f;
+        int edgeB = -1;
+        int nearB = -1;
+        boolean bHoldsA = false;
+        if(m > 1)
+        {
+            this.query(bs.getX(), bs.getY(), b.offset(), m, as.getX(), as.getY(), a.offset(), n, 0f, 0f);
+            if(this.separated(bs.getX(), bs.getY(), b.offset(), m, as.getX(), as.getY(), a.offset(), n))
+            {
+                return false;
+            }
+            sepB = this.sep;
+            nxB = this.nx;
+            nyB = this.ny;
+            edgeB = this.edge;
+            nearB = this.nearest;
+            bHoldsA = this.far <= 0f;
+        }
+
+        // Push out along whichever side overlaps least,
+        // and clip the other polygon's facing side to it
+        out.clear();
+        if(sepA >= sepB)
+        {
+            out.normalX = nxA;
+            out.normalY = nyA;
+            out.depth = -sepA;
+            out.firstEdge = edgeA;
+            out.secondEdge = clip(as, a.offset(), n, edgeA, nxA, nyA, bs, b.offset(), m, nearA, out);
+        }
+        else
+        {
+            out.normalX = -nxB;
+            out.normalY = -nyB;
+            out.depth = -sepB;
+            out.secondEdge = edgeB;
+            out.firstEdge = clip(bs, b.offset(), m, edgeB, nxB, nyB, as, a.offset(), n, nearB, out);
+        }
+        out.firstContainsSecond = aHoldsB;
+        out.secondContainsFirst = bHoldsA;
+        return true;
+    }
+
+    /**
+     * Measure how far apart two polygons would be if the
+     * second were shifted. Never more than the true distance
+     * between them, so it is safe to advance by
+     *
+     * @param a: First polygon, with at least two vertices
+     * @param b: Second polygon
+     * @param ox: Shift of b along x
+     * @param oy: Shift of b along y
+     *
+     * @return Gap along the best separating side,
+     * or not positive if they overlap
+     */
+    public float separation(Polygon a, Polygon b, float ox, float oy)
+    {
+        int n = a.getVertexCount();
+        int m = b.getVertexCount();
+        PolygonStore as = a.vertices();
+        PolygonStore bs = b.vertices();
+        this.query(as.getX(), as.getY(), a.offset(), n, bs.getX(), bs.getY(), b.offset(), m, ox, oy);
+        float sepA = this.sep;
+        if(m <= 1 || sepA > 0f)
+        {
+            return sepA;
+        }
+        this.query(bs.getX(), bs.getY(), b.offset(), m, as.getX(), as.getY(), a.offset(), n, -ox, -oy);
+        return Math.max(sepA, this.sep);
+    }
+
+    /**
+     * Find the side of polygon A that best separates it from
+     * polygon B, with B shifted by (ox, oy). Sets sep to the
+     * largest gap between a side and B's nearest vertex
+     * (negative when overlapping), nx and ny to that side's
+     * outward normal, and far to the largest distance any B
+     * vertex sits outside any A side (not positive when B is
+     * inside A). Also keeps the best side in edge and B's
+     * nearest vertex to it in nearest.
+     *
+     * Both polygons must be counterclockwise and convex
+     */
+    private void query(float[] ax, float[] ay, int aoff, int n,
+                       float[] bx, float[] by, int boff, int m, float ox, float oy)
+    {
+        this.sep = -Float.MAX_VALUE;
+        this.far = -Float.MAX_VALUE;
+        int near = -1;
+        int out = -1;
+
+        for(int i = 0; i < n; i++)
+        {
+            int i0 = aoff + i;
+            int i1 = aoff + (i + 1) % n;
+            float ex = ax[i1] - ax[i0];
+            float ey = ay[i1] - ay[i0];
+            float len = (float)Math.sqrt(ex*ex + ey*ey);
+            if(len == 0f)
+            {
+                continue;
+            }
+            // Outward normal of a counterclockwise side
+            float sx = ey / len;
+            float sy = -ex / len;
+            // Shifting B forward is the same as
+            // shifting the side back
+            float px = ax[i0] - ox;
+            float py = ay[i0] - oy;
+
+            if(near == -1)
+            {
+                // First side, find both extremes the slow way
+                near = 0;
+                out = 0;
+                for(int j = 1; j < m; j++)
+                {
+                    if(proj(bx, by, boff + j, sx, sy, px, py) < proj(bx, by, boff + near, sx, sy, px, py)) near = j;
+                    if(proj(bx, by, boff + j, sx, sy, px, py) > proj(bx, by, boff + out, sx, sy, px, py)) out = j;
+                }
+            }
+            else
+            {
+                // Later sides, the extremes only move forward
+                for(int k = 0; k < m; k++)
+                {
+                    int next = (near + 1) % m;
+                    if(proj(bx, by, boff + next, sx, sy, px, py) > proj(bx, by, boff + near, sx, sy, px, py)) break;
+                    near = next;
+                }
+                for(int k = 0; k < m; k++)
+                {
+                    int next = (out + 1) % m;
+                    if(proj(bx, by, boff + next, sx, sy, px, py) < proj(bx, by, boff + out, sx, sy, px, py)) break;
+                    out = next;
+                }
+            }
+
+            float s = proj(bx, by, boff + near, sx, sy, px, py);
+            if(s > this.sep)
+            {
+                this.sep = s;
+                this.nx = sx;
+                this.ny = sy;
+                this.edge = i;
+                this.nearest = near;
+            }
+            this.far = Math.max(this.far, proj(bx, by, boff + out, sx, sy, px, py));
+        }
+    }
+
+    /**
+     * Decide whether the side the last query picked separates
+     * the polygons. The gaps in floats only pick the side, and
+     * the answer is exact: B's nearest vertex and both of its
+     * neighbors, which are the only ones that can tie with it,
+     * must be strictly outside the side
+     */
+    private boolean separated(float[] ax, float[] ay, int aoff, int n,
+                              float[] bx, float[] by, int boff, int m)
+    {
+        if(this.sep == -Float.MAX_VALUE)
+        {
+            return false;
+        }
+        int i0 = aoff + this.edge;
+        int i1 = aoff + (this.edge + 1) % n;
+        for(int k = -1; k <= 1; k++)
+        {
+            int j = boff + (this.nearest + k + m) % m;
+            if(Predicates.orient2d(ax[i0], ay[i0], ax[i1], ay[i1], bx[j], by[j]) >= 0.0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the contact points of an overlap. The incident
+     * side is whichever side at the incident polygon's
+     * nearest vertex faces most against the reference side,
+     * and the points are its ends clipped to the reference
+     * side's span that sit behind the reference side
+     *
+     * @param r: Store of the reference polygon
+     * @param roff: Offset of the reference polygon
+     * @param rn: Vertex count of the reference polygon
+     * @param refEdge: Reference side
+     * @param sx: Outward unit normal of the reference side
+     * @param sy: Outward unit normal of the reference side
+     * @param s: Store of the incident polygon
+     * @param soff: Offset of the incident polygon
+     * @param sn: Vertex count of the incident polygon
+     * @param near: Incident vertex nearest the reference side
+     * @param out: Receives the contact points
+     *
+     * @return Incident side, or -1 for a single point
+     */
+    private static int clip(PolygonStore r, int roff, int rn, int refEdge, float sx, float sy,
+                            PolygonStore s, int soff, int sn, int near, Contact out)
+    {
+        final float[] rx = r.getX();
+        final float[] ry = r.getY();
+        final float[] ix = s.getX();
+        final float[] iy = s.getY();
+        if(sn <= 1)
+        {
+            out.addPoint(ix[soff], iy[soff]);
+            return -1;
+        }
+
+        // Pick the incident side
+        int prev = (near + sn - 1) % sn;
+        int next = (near + 1) % sn;
+        float fPrev = facing(ix, iy, soff + prev, soff + near, sx, sy);
+        float fNext = facing(ix, iy, soff + near, soff + next, sx, sy);
+        int inc = (fPrev < fNext) ? prev : near;
+        int i0 = soff + inc;
+        int i1 = soff + (inc + 1) % sn;
+
+        // Span of the reference side along its tangent
+        int r0 = roff + refEdge;
+        int r1 = roff + (refEdge + 1) % rn;
+        float tx = -sy;
+        float ty = sx;
+        float lo = rx[r0]*tx + ry[r0]*ty;
+        float hi = rx[r1]*tx + ry[r1]*ty;
+
+        float x0 = ix[i0];
+        float y0 = iy[i0];
+        float x1 = ix[i1];
+        float y1 = iy[i1];
+        float t0 = x0*tx + y0*ty;
+        float t1 = x1*tx + y1*ty;
+        if(Math.max(t0, t1) < lo || Math.min(t0, t1) > hi || t0 == t1)
+        {
+            // Side misses the span, settle for the vertex
+            out.addPoint(ix[soff + near], iy[soff + near]);
+            return inc;
+        }
+
+        // Clip both ends into [lo, hi]
+        float u0 = (Math.max(lo, Math.min(hi, t0)) - t0) / (t1 - t0);
+        float u1 = (Math.max(lo, Math.min(hi, t1)) - t0) / (t1 - t0);
+        float cx0 = x0 + (x1 - x0)*u0;
+        float cy0 = y0 + (y1 - y0)*u0;
+        float cx1 = x0 + (x1 - x0)*u1;
+        float cy1 = y0 + (y1 - y0)*u1;
+
+        // Keep what sits behind the reference side
+        float d = rx[r0]*sx + ry[r0]*sy;
+        if(cx0*sx + cy0*sy <= d)
+        {
+            out.addPoint(cx0, cy0);
+        }
+        if(cx1*sx + cy1*sy <= d)
+        {
+            out.addPoint(cx1, cy1);
+        }
+        if(out.pointCount == 0)
+        {
+            out.addPoint(ix[soff + near], iy[soff + near]);
+        }
+        return inc;
+    }
+
+    /**
+     * @return How closely the side from j to k faces
+     * along (sx, sy), from -1 to 1
+     */
+    private static float facing(float[] xs, float[] ys, int j, int k, float sx, float sy)
+    {
+        float ox = ys[k] - ys[j];
+        float oy = xs[j] - xs[k];
+        float len = (float)Math.sqrt(ox*ox + oy*oy);
+        return (len == 0f) ? 1f : (ox*sx + oy*sy) / len;
+    }
+
+    /**
+     * @return Signed distance of vertex j past the line
+     * through (px, py) with unit normal (sx, sy)
+     */
+    private static float proj(float[] xs, float[] ys, int j, float sx, float sy, float px, float py)
+    {
+        return (xs[j] - px)*sx + (ys[j] - py)*sy;
+    }
+}
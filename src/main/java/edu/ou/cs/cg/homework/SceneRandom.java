@@ -0,0 +1,106 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of randomness for a whole scene.
+ *
+ * A given seed always produces the same sequence, so
+ * velocities and placements can be reproduced. Not
+ * thread safe: give each worker its own with split().
+ */
+final class SceneRandom
+{
+    // Underlying generator
+    private final SplittableRandom rand;
+
+    /**
+     * Construct with a time based seed
+     */
+    public SceneRandom()
+    {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Construct with a known seed
+     *
+     * @param seed: Seed for the sequence
+     */
+    public SceneRandom(long seed)
+    {
+        this.rand = new SplittableRandom(seed);
+    }
+
+    /**
+     * Wrap an already split generator
+     *
+     * @param rand: The generator
+     */
+    private SceneRandom(SplittableRandom rand)
+    {
+        this.rand = rand;
+    }
+
+    /**
+     * Split off an independent generator, e.g. for
+     * another thread. The result is itself determined
+     * by this generator's seed.
+     *
+     * @return A new SceneRandom
+     */
+    public SceneRandom split()
+    {
+        return new SceneRandom(this.rand.split());
+    }
+
+    /**
+     * @return Uniform float in [0, 1)
+     */
+    public float nextFloat()
+    {
+        // The top 24 bits, since rounding a double
+        // down to a float can give 1
+        return (this.rand.nextInt() >>> 8) * 0x1p-24f;
+    }
+
+    /**
+     * @return Uniform double in [0, 1)
+     */
+    public double nextDouble()
+    {
+        return this.rand.nextDouble();
+    }
+
+    /**
+     * @param bound: Upper bound, exclusive
+     *
+     * @return Uniform int in [0, bound)
+     */
+    public int nextInt(int bound)
+    {
+        return this.rand.nextInt(bound);
+    }
+
+    /**
+     * Pick a random direction with a fixed magnitude
+     *
+     * @param magnitude: Length of the velocity
+     * @param out: Vector receiving the velocity
+     *
+     * @return out
+     */
+    public Vector nextVelocity(float magnitude, Vector out)
+    {
+        // Calculate a random x velocity and get the y off of that
+        // and the target magnitude
+        float xVel = (float)(this.rand.nextDouble()*2.0 - 1.0) * magnitude;
+        float yVel = (float)Math.sqrt(magnitude*magnitude - xVel*xVel);
+        // Randomly invert the y velocity
+        yVel = (this.rand.nextInt(2) == 0) ? -yVel : yVel;
+        return out.set(xVel, yVel);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * A handful of reusable vectors and points per thread
+ * so per-frame math does not have to allocate.
+ *
+ * Anything taken from here is only good until the
+ * same slot is asked for again, so never keep one.
+ */
+final class Scratch
+{
+    // Number of slots of each kind
+    public static final int SIZE = 8;
+
+    // One set of slots per thread
+    private static final ThreadLocal<Scratch> LOCAL = new ThreadLocal<Scratch>()
+    {
+        @Override
+        protected Scratch initialValue()
+        {
+            return new Scratch();
+        }
+    };
+
+    // Scratch vectors
+    private final Vector[] vectors = new Vector[SIZE];
+
+    // Scratch points
+    private final Point[] points = new Point[SIZE];
+
+    /**
+     * Fill the slots once
+     */
+    private Scratch()
+    {
+        for(int i = 0; i < SIZE; i++)
+        {
+            this.vectors[i] = new Vector(0f, 0f);
+            this.points[i] = new Point(0f, 0f);
+        }
+    }
+
+    /**
+     * @return The scratch slots for the calling thread
+     */
+    public static Scratch get()
+    {
+        return LOCAL.get();
+    }
+
+    /**
+     * @param i: Slot index
+     *
+     * @return The scratch vector in slot i
+     */
+    public Vector vector(int i)
+    {
+        return this.vectors[i];
+    }
+
+    /**
+     * @param i: Slot index
+     *
+     * @return The scratch point in slot i
+     */
+    public Point point(int i)
+    {
+        return this.points[i];
+    }
+}
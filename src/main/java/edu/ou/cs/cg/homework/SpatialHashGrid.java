@@ -0,0 +1,236 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Broad phase that drops polygon bounding boxes into a
+ * uniform grid of hashed cells and only pairs polygons
+ * sharing a cell.
+ *
+ * The grid is rebuilt on every call. Each covered cell
+ * becomes one long (cell hash in the high half, polygon
+ * index in the low half), so a primitive sort groups
+ * everything by cell. A pair sharing several cells is only
+ * reported by the cell holding the low corner of the
+ * overlap of their boxes.
+ */
+class SpatialHashGrid implements BroadPhase
+{
+    // Cell size when the polygons are all single points
+    private static final float FALLBACK_CELL = 0.1f;
+
+    // Fixed cell size, or 0 to size cells from the polygons
+    private final float cellSize;
+
+    // Cell entries for the current build
+    private long[] entries = new long[64];
+    private int count = 0;
+
+    // Polygon bounding boxes for the current build,
+    // and which polygons are asleep
+    private float[] minX = new float[16];
+    private float[] minY = new float[16];
+    private float[] maxX = new float[16];
+    private float[] maxY = new float[16];
+    private boolean[] asleep = new boolean[16];
+
+    // Unique polygon indices of the cell being paired
+    private int[] run = new int[16];
+
+    /**
+     * Construct a grid that sizes its cells to the
+     * average polygon on each build
+     */
+    public SpatialHashGrid()
+    {
+        this(0f);
+    }
+
+    /**
+     * Construct a grid with a fixed cell size
+     *
+     * @param cellSize: Width and height of a cell
+     */
+    public SpatialHashGrid(float cellSize)
+    {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * The grid is rebuilt on every query,
+     * so there is nothing to track
+     */
+    public void add(Polygon p)
+    {
+    }
+
+    public void remove(Polygon p)
+    {
+    }
+
+    public void moved(Polygon p)
+    {
+    }
+
+    /**
+     * Find every pair of polygons whose bounding boxes
+     * overlap and that are not both asleep
+     *
+     * @param polygons: Polygons to pair up
+     * @param out: Receives index pairs (a, b) with a < b
+     */
+    public void findPairs(ArrayList<Polygon> polygons, PairList out)
+    {
+        final int n = polygons.size();
+        final float size = this.gatherBounds(polygons);
+
+        // Drop each box into every cell it covers
+        this.count = 0;
+        for(int i = 0; i < n; i++)
+        {
+            int x0 = cell(this.minX[i], size);
+            int x1 = cell(this.maxX[i], size);
+            int y0 = cell(this.minY[i], size);
+            int y1 = cell(this.maxY[i], size);
+            for(int cx = x0; cx <= x1; cx++)
+            {
+                for(int cy = y0; cy <= y1; cy++)
+                {
+                    this.addEntry(hash(cx, cy), i);
+                }
+            }
+        }
+
+        // Group by cell, then pair within each cell
+        Arrays.sort(this.entries, 0, this.count);
+        int start = 0;
+        while(start < this.count)
+        {
+            final int h = (int)(this.entries[start] >> 32);
+            int end = start;
+            int unique = 0;
+            while(end < this.count && (int)(this.entries[end] >> 32) == h)
+            {
+                // Distinct cells can share a hash, which would
+                // list a polygon twice in the same run
+                if(end == start || this.entries[end] != this.entries[end - 1])
+                {
+                    this.run[unique++] = (int)this.entries[end];
+                }
+                end++;
+            }
+            this.pairRun(unique, h, size, out);
+            start = end;
+        }
+    }
+
+    /**
+     * Report every overlapping pair in one cell that
+     * this cell owns, unless both polygons sleep
+     *
+     * @param unique: Number of polygons in the cell
+     * @param h: Hash of the cell
+     * @param size: Cell size
+     * @param out: Receives the pairs
+     */
+    private void pairRun(int unique, int h, float size, PairList out)
+    {
+        for(int p = 0; p < unique; p++)
+        {
+            final int a = this.run[p];
+            for(int q = p + 1; q < unique; q++)
+            {
+                final int b = this.run[q];
+                if((this.asleep[a] && this.asleep[b]) ||
+                   this.minX[a] > this.maxX[b] || this.minX[b] > this.maxX[a] ||
+                   this.minY[a] > this.maxY[b] || this.minY[b] > this.maxY[a])
+                {
+                    continue;
+                }
+                int ox = cell(Math.max(this.minX[a], this.minX[b]), size);
+                int oy = cell(Math.max(this.minY[a], this.minY[b]), size);
+                if(hash(ox, oy) == h)
+                {
+                    out.add(a, b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy out the bounding box of every polygon
+     * and pick the cell size
+     *
+     * @param polygons: Polygons being paired
+     *
+     * @return Cell size for this build
+     */
+    private float gatherBounds(ArrayList<Polygon> polygons)
+    {
+        final int n = polygons.size();
+        if(this.minX.length < n)
+        {
+            int cap = Math.max(n, this.minX.length * 2);
+            this.minX = new float[cap];
+            this.minY = new float[cap];
+            this.maxX = new float[cap];
+            this.maxY = new float[cap];
+            this.asleep = new boolean[cap];
+            this.run = new int[cap];
+        }
+
+        double total = 0.0;
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = polygons.get(i);
+            this.minX[i] = p.getMinX();
+            this.minY[i] = p.getMinY();
+            this.maxX[i] = p.getMaxX();
+            this.maxY[i] = p.getMaxY();
+            this.asleep[i] = p.asleep;
+            total += Math.max(this.maxX[i] - this.minX[i], this.maxY[i] - this.minY[i]);
+        }
+
+        if(this.cellSize > 0f)
+        {
+            return this.cellSize;
+        }
+        float mean = (n == 0) ? 0f : (float)(total / n);
+        return (mean > 0f) ? mean : FALLBACK_CELL;
+    }
+
+    /**
+     * Add one cell entry
+     *
+     * @param h: Cell hash
+     * @param index: Polygon index
+     */
+    private void addEntry(int h, int index)
+    {
+        if(this.count == this.entries.length)
+        {
+            this.entries = Arrays.copyOf(this.entries, this.count * 2);
+        }
+        this.entries[this.count++] = ((long)h << 32) | index;
+    }
+
+    /**
+     * @return Grid column or row holding a coordinate
+     */
+    private static int cell(float v, float size)
+    {
+        return (int)Math.floor(v / size);
+    }
+
+    /**
+     * @return Hash of a grid cell
+     */
+    private static int hash(int cx, int cy)
+    {
+        return (cx * 73856093) ^ (cy * 19349663);
+    }
+}
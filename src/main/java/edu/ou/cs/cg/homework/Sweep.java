@@ -0,0 +1,276 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Continuous collision over one update. Instead of jumping
+ * each polygon by its whole velocity and testing where it
+ * lands, find how far along its motion it can go before
+ * touching anything, so fast polygons and points cannot
+ * pass through thin ones between frames.
+ *
+ * Motion is the center velocity only, since an update
+ * never turns or scales a polygon.
+ *
+ * Keeps scratch state, so use one per thread.
+ */
+final class Sweep
+{
+    // Gap left between polygons that stop against each other
+    public static final float TOLERANCE = 1e-5f;
+
+    // Most steps of conservative advancement for one pair
+    private static final int MAX_STEPS = 32;
+
+    // Separation tests for conservative advancement
+    private final Sat sat = new Sat();
+
+    // Polygons keyed by swept box left edge, for sort and sweep
+    private long[] order = new long[16];
+
+    // Swept bounding boxes
+    private float[] minX = new float[16];
+    private float[] minY = new float[16];
+    private float[] maxX = new float[16];
+    private float[] maxY = new float[16];
+
+    // How far along its velocity each polygon can go
+    private float[] toi = new float[16];
+
+    /**
+     * Move every polygon along its velocity, stopping
+     * any that would hit another before the end
+     *
+     * @param polygons: Polygons to move
+     */
+    public void advance(ArrayList<Polygon> polygons)
+    {
+        final int n = polygons.size();
+        this.gatherBounds(polygons);
+
+        // Sort by left edge, then only test pairs
+        // whose swept boxes overlap
+        Arrays.sort(this.order, 0, n);
+        for(int p = 0; p < n; p++)
+        {
+            final int a = (int)this.order[p];
+            for(int q = p + 1; q < n; q++)
+            {
+                final int b = (int)this.order[q];
+                if(this.minX[b] > this.maxX[a])
+                {
+                    break;
+                }
+                if(this.minY[a] > this.maxY[b] || this.minY[b] > this.maxY[a])
+                {
+                    continue;
+                }
+                float t = this.timeOfImpact(polygons.get(a), polygons.get(b));
+                if(t >= 0f)
+                {
+                    this.toi[a] = Math.min(this.toi[a], t);
+                    this.toi[b] = Math.min(this.toi[b], t);
+                }
+            }
+        }
+
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = polygons.get(i);
+            Vector v = p.center.getVelocity();
+            if(p.isAsleep())
+            {
+                continue;
+            }
+            if(this.toi[i] >= 1f)
+            {
+                p.update();
+            }
+            else
+            {
+                p.move(v.x * this.toi[i], v.y * this.toi[i]);
+            }
+        }
+    }
+
+    /**
+     * Find how far two polygons can move along their
+     * velocities before coming within TOLERANCE
+     *
+     * Polygons already overlapping at the start are
+     * left to the discrete tests
+     *
+     * @param a: A polygon
+     * @param b: A polygon
+     *
+     * @return Fraction of the update in [0, 1] they can
+     * safely advance, or -1 if they never touch
+     */
+    public float timeOfImpact(Polygon a, Polygon b)
+    {
+        // Work in a's frame, so only b moves
+        final Vector va = a.center.getVelocity();
+        final Vector vb = b.center.getVelocity();
+        final float vx = vb.x - va.x;
+        final float vy = vb.y - va.y;
+
+        final int n = a.getVertexCount();
+        final int m = b.getVertexCount();
+        if(n <= 1 && m <= 1)
+        {
+            return -1f;
+        }
+        if(m <= 1)
+        {
+            return this.pointImpact(a, b.center.getFloatX(), b.center.getFloatY(), vx, vy);
+        }
+        if(n <= 1)
+        {
+            return this.pointImpact(b, a.center.getFloatX(), a.center.getFloatY(), -vx, -vy);
+        }
+
+        final float speed = (float)Math.sqrt(vx*vx + vy*vy);
+        if(speed == 0f)
+        {
+            return -1f;
+        }
+        float d = this.sat.separation(a, b, 0f, 0f);
+        if(d <= 0f)
+        {
+            return -1f;
+        }
+
+        // Conservative advancement. The gap never exceeds the
+        // true distance, so moving by gap / speed cannot
+        // carry b into a
+        float t = 0f;
+        for(int i = 0; i < MAX_STEPS && d > TOLERANCE; i++)
+        {
+            t += (d - TOLERANCE) / speed;
+            if(t >= 1f)
+            {
+                return -1f;
+            }
+            d = this.sat.separation(a, b, vx * t, vy * t);
+        }
+        return t;
+    }
+
+    /**
+     * Find how far a moving point can go before entering
+     * a polygon, by clipping its path against each side
+     *
+     * @param poly: Polygon with at least three vertices
+     * @param x0: Starting x of the point
+     * @param y0: Starting y of the point
+     * @param dx: Motion along x relative to the polygon
+     * @param dy: Motion along y relative to the polygon
+     *
+     * @return Fraction of the motion in [0, 1] the point can
+     * safely advance, or -1 if it never enters or is
+     * already inside
+     */
+    public float pointImpact(Polygon poly, float x0, float y0, float dx, float dy)
+    {
+        final PolygonStore s = poly.vertices();
+        final float[] xs = s.getX();
+        final float[] ys = s.getY();
+        final int off = poly.offset();
+        final int n = poly.getVertexCount();
+
+        float enter = 0f;
+        float exit = 1f;
+        boolean inside = true;
+        for(int i = 0; i < n; i++)
+        {
+            int i0 = off + i;
+            int i1 = off + (i + 1) % n;
+
+            // Outward normal of a counterclockwise side,
+            // left unnormalized since only signs and
+            // ratios matter
+            float sx = ys[i1] - ys[i0];
+            float sy = xs[i0] - xs[i1];
+            float dist = (x0 - xs[i0])*sx + (y0 - ys[i0])*sy;
+            float rate = dx*sx + dy*sy;
+            inside &= dist < 0f;
+
+            if(rate == 0f)
+            {
+                // Running parallel outside this side
+                if(dist > 0f)
+                {
+                    return -1f;
+                }
+                continue;
+            }
+            float t = -dist / rate;
+            if(rate < 0f)
+            {
+                enter = Math.max(enter, t);
+            }
+            else
+            {
+                exit = Math.min(exit, t);
+            }
+            if(enter > exit)
+            {
+                return -1f;
+            }
+        }
+        if(inside)
+        {
+            return -1f;
+        }
+
+        // Stop just short of the side
+        float len = (float)Math.sqrt(dx*dx + dy*dy);
+        return Math.max(0f, enter - TOLERANCE / len);
+    }
+
+    /**
+     * Copy out the box each polygon sweeps
+     * and reset the impact times
+     *
+     * @param polygons: Polygons being moved
+     */
+    private void gatherBounds(ArrayList<Polygon> polygons)
+    {
+        final int n = polygons.size();
+        if(this.minX.length < n)
+        {
+            int cap = Math.max(n, this.minX.length * 2);
+            this.order = new long[cap];
+            this.minX = new float[cap];
+            this.minY = new float[cap];
+            this.maxX = new float[cap];
+            this.maxY = new float[cap];
+            this.toi = new float[cap];
+        }
+
+        for(int i = 0; i < n; i++)
+        {
+            Polygon p = polygons.get(i);
+            Vector v = p.center.getVelocity();
+            this.minX[i] = p.getMinX() + Math.min(0f, v.x);
+            this.minY[i] = p.getMinY() + Math.min(0f, v.y);
+            this.maxX[i] = p.getMaxX() + Math.max(0f, v.x);
+            this.maxY[i] = p.getMaxY() + Math.max(0f, v.y);
+            this.toi[i] = 1f;
+            this.order[i] = ((long)sortable(this.minX[i]) << 32) | i;
+        }
+    }
+
+    /**
+     * @return Int that sorts the same as the float
+     */
+    private static int sortable(float f)
+    {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+}
@@ -10,6 +10,8 @@ import javax.media.opengl.*;
 
 public class Utils
 {
+	private static final float[] BLACK = new float[]{0f, 0f, 0f};
+
     /*
 	 * Draw a quadralateral given four vertices and a fill color
 	 */
@@ -76,6 +78,18 @@ public class Utils
 		gl.glEnd();
 	}
 
+	/*
+	 * The same as above, but from raw coordinates
+	 */
+	public static void drawLine(GL2 gl, float x0, float y0, float x1, float y1, float[] color)
+	{
+		gl.glBegin(GL.GL_LINES);
+		gl.glColor3f(color[0], color[1], color[2]);
+		gl.glVertex2f(x0, y0);
+		gl.glVertex2f(x1, y1);
+		gl.glEnd();
+	}
+
 	/* 
 	 * The same as above, but allowing for a width
 	 */
@@ -112,62 +126,38 @@ public class Utils
 	 */
 	public static void drawCircle(GL2 gl, Point2D center, float radius, double start, double end, float[] color, boolean outline)
 	{
-		final float[] BLACK = new float[]{0f, 0f, 0f};
-		int len = 360;
-		double[] vert = new double[(len+1)*2];
-		gl.glBegin(GL.GL_TRIANGLE_FAN);
-		gl.glColor3f(color[0], color[1], color[2]);
-		gl.glVertex2d(center.getX(), center.getY());
-		double centx = center.getX();
-		double centy = center.getY();
-		for(double angle = start, i = 0; angle <= end; angle++, i+= 2)
-		{
-			double x = centx + Math.cos(Math.toRadians(angle))*radius;
-			double y = centy + Math.sin(Math.toRadians(angle))*radius;
-			gl.glVertex2d(x,y);
-			vert[(int)i] = x;
-			vert[(int)i+1] = y;
-		}
-		gl.glEnd();
-		// If outline, do it
-		if(outline)
-		{
-			for(int i = 0; i < vert.length - 2; i+=2)
-			{
-				final Point2D.Float from = new Point2D.Float((float)vert[i], (float)vert[i+1]);
-				final Point2D.Float to = new Point2D.Float((float)vert[i+2], (float)vert[i+3]);
-				Utils.drawLine(gl, from, to, BLACK);
-			}
-			final Point2D.Float from = new Point2D.Float((float)vert[vert.length - 2], (float)vert[vert.length - 1]);
-			final Point2D.Float to = new Point2D.Float((float)vert[0], (float)vert[1]);
-			Utils.drawLine(gl, from, to, BLACK);
-		}
+		// One vertex per degree, taken from the cached unit
+		// circle starting at the nearest whole degree
+		VertexTemplate t = VertexTemplate.get(360, 0f);
+		int first = Math.floorMod((int)Math.round(start), 360);
+		int len = (int)Math.floor(end - start) + 1;
+		Utils.drawTemplate(gl, center, radius, t, first, len, color, BLACK, outline);
 	}
 
 	/*
-	 * Overload of the above, allowing for an degree increment to draw polygons
+	 * Overload of the above, drawing count vertices starting at
+	 * offset in a pair of coordinate columns
 	 */
-	public static void drawCircle(GL2 gl, Point2D center, float radius, double start, double end, float inc, float[] color, float[] fillColor, boolean outline, Point[] points)
+	public static void drawCircle(GL2 gl, Point2D center, float radius, double start, double end, float inc, float[] color, float[] fillColor, boolean outline, float[] xs, float[] ys, int offset, int count)
 	{
 		final float[] BLACK = color;
+		final int last = offset + count - 1;
 		gl.glBegin(GL.GL_TRIANGLE_FAN);
 		gl.glColor3f(fillColor[0], fillColor[1], fillColor[2]);
 		gl.glVertex2d(center.getX(), center.getY());
-		for(int i = 0, j = 0; i < points.length * 2; j++, i+=2)
+		for(int i = offset; i <= last; i++)
 		{
-			double x = points[j].getX();
-			double y = points[j].getY();
-			gl.glVertex2d(x,y);
+			gl.glVertex2f(xs[i], ys[i]);
 		}
-		gl.glVertex2d(points[0].getX(), points[0].getY());
+		gl.glVertex2f(xs[offset], ys[offset]);
 		gl.glEnd();
 		if(outline)
 		{
-			for(int i = 0; i < points.length-1; i++)
+			for(int i = offset; i < last; i++)
 			{
-				Utils.drawLine(gl, points[i], points[i+1], BLACK);
+				Utils.drawLine(gl, xs[i], ys[i], xs[i+1], ys[i+1], BLACK);
 			}
-			Utils.drawLine(gl, points[points.length - 1], points[0], BLACK);
+			Utils.drawLine(gl, xs[last], ys[last], xs[offset], ys[offset], BLACK);
 		}
 	}
 
@@ -176,34 +166,42 @@ public class Utils
 	 */
 	public static void drawCircle(GL2 gl, Point2D center, float radius, double start, double end, float inc, float[] color, float[] fillColor, boolean outline)
 	{
-		final float[] BLACK = color;
-		int len = (int)(360 / inc);
-		double[] vert = new double[(len+1)*2];
+		// Start at the nearest vertex of the unrotated template
+		VertexTemplate t = VertexTemplate.get(Math.round(360 / inc), 0f);
+		int first = Math.floorMod((int)Math.round(start / inc), t.size());
+		int len = (int)Math.floor((end - start) / inc) + 1;
+		Utils.drawTemplate(gl, center, radius, t, first, len, fillColor, color, outline);
+	}
+
+	/*
+	 * Draw a fan of len vertices from a unit circle template, from
+	 * vertex first on, scaled by radius about center, wrapping
+	 * around the template as needed
+	 */
+	private static void drawTemplate(GL2 gl, Point2D center, float radius, VertexTemplate t, int first, int len, float[] fillColor, float[] lineColor, boolean outline)
+	{
+		final int n = t.size();
+		final float centx = (float)center.getX();
+		final float centy = (float)center.getY();
 		gl.glBegin(GL.GL_TRIANGLE_FAN);
 		gl.glColor3f(fillColor[0], fillColor[1], fillColor[2]);
-		gl.glVertex2d(center.getX(), center.getY());
-		double centx = center.getX();
-		double centy = center.getY();
-		for(double angle = start, i = 0; angle <= end; angle += inc, i+=2)
+		gl.glVertex2f(centx, centy);
+		for(int i = 0; i < len; i++)
 		{
-			double x = centx + Math.cos(Math.toRadians(angle))*radius;
-			double y = centy + Math.sin(Math.toRadians(angle))*radius;
-			vert[(int)i] = x;
-			vert[(int)i+1] = y;
-			gl.glVertex2d(x,y);
+			int k = (first + i) % n;
+			gl.glVertex2f(centx + t.x[k]*radius, centy + t.y[k]*radius);
 		}
 		gl.glEnd();
+		// If outline, do it
 		if(outline)
 		{
-			for(int i = 0; i < vert.length - 2; i+=2)
+			for(int i = 0; i < len; i++)
 			{
-				final Point2D.Float from = new Point2D.Float((float)vert[i], (float)vert[i+1]);
-				final Point2D.Float to = new Point2D.Float((float)vert[i+2], (float)vert[i+3]);
-				Utils.drawLine(gl, from, to, BLACK);
+				int a = (first + i) % n;
+				int b = (i + 1 == len) ? first : (first + i + 1) % n;
+				Utils.drawLine(gl, centx + t.x[a]*radius, centy + t.y[a]*radius,
+									centx + t.x[b]*radius, centy + t.y[b]*radius, lineColor);
 			}
-			final Point2D.Float from = new Point2D.Float((float)vert[vert.length - 2], (float)vert[vert.length - 1]);
-			final Point2D.Float to = new Point2D.Float((float)vert[0], (float)vert[1]);
-			Utils.drawLine(gl, from, to, BLACK);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -91,6 +91,52 @@ class Vector
         this.magnitude = this.calcMagnitude();
     }
 
+    /**
+     * Set both components
+     *
+     * @param x: The new x component
+     * @param y: The new y component
+     *
+     * @return This vector
+     */
+    public Vector set(float x, float y)
+    {
+        this.x = x;
+        this.y = y;
+        this.magnitude = this.calcMagnitude();
+        return this;
+    }
+
+    /**
+     * Point this vector from a start to an end point
+     *
+     * @param start: The start point
+     * @param end: The end point
+     *
+     * @return This vector
+     */
+    public Vector set(Point start, Point end)
+    {
+        this.start = start;
+        this.end = end;
+        return this.set(end.getFloatX() - start.getFloatX(), end.getFloatY() - start.getFloatY());
+    }
+
+    /**
+     * Scale this vector without allocating
+     *
+     * @param amount: Amount to scale
+     *
+     * @return This vector
+     */
+    public Vector scaleInPlace(float amount)
+    {
+        this.x *= amount;
+        this.y *= amount;
+        this.magnitude *= Math.abs(amount);
+        return this;
+    }
+
     /**
      * Increases the magnitude of the vector
      * 
@@ -128,9 +174,22 @@ class Vector
      */
     public Vector reflected(Vector normal)
     {
-        float _dot = Vector.dot(this, normal);
-        Vector scaledNormal = Vector.scale(normal, _dot*2);
-        return Vector.subtract(this, scaledNormal);
+        return this.reflected(normal, new Vector(0f, 0f));
+    }
+
+    /**
+     * Gets the reflection vector with a normal
+     * without allocating
+     *
+     * @param normal: Normal for reflection
+     * @param out: Vector receiving the result, may be this
+     *
+     * @return out
+     */
+    public Vector reflected(Vector normal, Vector out)
+    {
+        float _dot2 = Vector.dot(this, normal) * 2;
+        return out.set(this.x - normal.x*_dot2, this.y - normal.y*_dot2);
     }
 
     /**
@@ -138,7 +197,19 @@ class Vector
      */
     public Vector getNormal()
     {
-        return new Vector(-this.y / this.magnitude, this.x / this.magnitude);
+        return this.getNormal(new Vector(0f, 0f));
+    }
+
+    /**
+     * Gets the counterclockwise normal without allocating
+     *
+     * @param out: Vector receiving the normal, may be this
+     *
+     * @return out
+     */
+    public Vector getNormal(Vector out)
+    {
+        return out.set(-this.y / this.magnitude, this.x / this.magnitude);
     }
 
     /**
@@ -164,9 +235,21 @@ class Vector
      */
     public static Vector subtract(Vector v1, Vector v2)
     {
-        float x = v1.x - v2.x;
-        float y = v1.y - v2.y;
-        return new Vector(x, y);
+        return Vector.subtract(v1, v2, new Vector(0f, 0f));
+    }
+
+    /**
+     * Subtract two vectors without allocating
+     *
+     * @param v1: First vector
+     * @param v2: Second vector
+     * @param out: Vector receiving v1 - v2, may be v1 or v2
+     *
+     * @return out
+     */
+    public static Vector subtract(Vector v1, Vector v2, Vector out)
+    {
+        return out.set(v1.x - v2.x, v1.y - v2.y);
     }
 
     /**
@@ -179,6 +262,20 @@ class Vector
      */
     public static Vector scale(Vector v, float amount)
     {
-        return new Vector(v.x*amount, v.y*amount);
+        return Vector.scale(v, amount, new Vector(0f, 0f));
+    }
+
+    /**
+     * Scale a vector without allocating
+     *
+     * @param v: Vector to scale
+     * @param amount: Amount to scale
+     * @param out: Vector receiving amount(v), may be v
+     *
+     * @return out
+     */
+    public static Vector scale(Vector v, float amount, Vector out)
+    {
+        return out.set(v.x*amount, v.y*amount);
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+/**
+ * The vertices of a regular polygon on the unit circle.
+ *
+ * Templates are cached by side count and start angle so
+ * the trig is done once; anything wanting a regular
+ * polygon just scales and offsets them. Start angles are
+ * taken mod 360. Looking one up does not lock or allocate.
+ */
+final class VertexTemplate
+{
+    // Most sides a node may have
+    static final int MAX_SIDES = 1024;
+
+    // Templates starting at angle 0, by side count. Racing
+    // threads may both build one, which is harmless
+    private static final VertexTemplate[] UPRIGHT = new VertexTemplate[MAX_SIDES + 1];
+
+    // Most templates at other angles cached. Past
+    // this they are built on every call instead
+    static final int CACHE_LIMIT = 1024;
+
+    // Cached templates. Never changed once published,
+    // adding one swaps in a copy
+    private static volatile Table cache = new Table(16);
+
+    // Unit x and y of each vertex. Shared, never write to these
+    final float[] x;
+    final float[] y;
+
+    // Distance from the center to each side, the
+    // radius of the largest circle inside
+    final float apothem;
+
+    /**
+     * Compute a template
+     *
+     * @param sides: Number of vertices
+     * @param startAngle: Angle of the first vertex in degrees
+     */
+    private VertexTemplate(int sides, float startAngle)
+    {
+        this.x = new float[sides];
+        this.y = new float[sides];
+        double skipDegree = 360.0 / sides;
+        for(int i = 0; i < sides; i++)
+        {
+            double theta = Math.toRadians(startAngle + i * skipDegree);
+            this.x[i] = (float)Math.cos(theta);
+            this.y[i] = (float)Math.sin(theta);
+        }
+
+        this.apothem = (float)Math.cos(Math.PI / sides);
+    }
+
+    /**
+     * Ask if the unit polygon contains a location. The
+     * sides fan out from vertex 0 in angle order, so a
+     * binary search finds the fan triangle holding the
+     * location and only that triangle's far side is tested
+     *
+     * @param px: X coordinate in template space
+     * @param py: Y coordinate in template space
+     *
+     * @return If the location is inside or on a side
+     */
+    boolean contains(float px, float py)
+    {
+        final int n = this.x.length;
+        final float[] x = this.x;
+        final float[] y = this.y;
+
+        // Outside the first or last side at vertex 0
+        if(Predicates.orient2d(x[0], y[0], x[1], y[1], px, py) < 0.0 ||
+           Predicates.orient2d(x[0], y[0], x[n - 1], y[n - 1], px, py) > 0.0)
+        {
+            return false;
+        }
+
+        // Last fan vertex with the location on its left
+        int lo = 1;
+        int hi = n - 1;
+        while(hi - lo > 1)
+        {
+            int mid = (lo + hi) >>> 1;
+            if(Predicates.orient2d(x[0], y[0], x[mid], y[mid], px, py) >= 0.0)
+            {
+                lo = mid;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return Predicates.orient2d(x[lo], y[lo], x[lo + 1], y[lo + 1], px, py) >= 0.0;
+    }
+
+    /**
+     * @param sides: Number of sides
+     *
+     * @return If a node may have that many sides: 1
+     * for a point, or 3 to MAX_SIDES for a polygon
+     */
+    static boolean isValidSides(int sides)
+    {
+        return sides == 1 || (sides >= 3 && sides <= MAX_SIDES);
+    }
+
+    /**
+     * Get the template for a regular polygon
+     *
+     * @param sides: Number of vertices
+     * @param startAngle: Angle of the first vertex in degrees
+     *
+     * @return The shared template
+     */
+    public static VertexTemplate get(int sides, float startAngle)
+    {
+        float angle = startAngle % 360f;
+        if(angle < 0f)
+        {
+            angle += 360f;
+        }
+        if(angle == 0f || angle == 360f)
+        {
+            angle = 0f;
+        }
+        if(angle == 0f && sides <= MAX_SIDES)
+        {
+            VertexTemplate t = UPRIGHT[sides];
+            if(t == null)
+            {
+                t = new VertexTemplate(sides, 0f);
+                UPRIGHT[sides] = t;
+            }
+            return t;
+        }
+        long key = ((long)sides << 32) | (Float.floatToIntBits(angle) & 0xffffffffL);
+        VertexTemplate t = cache.get(key);
+        return (t != null) ? t : add(key, sides, angle);
+    }
+
+    /**
+     * @return Number of templates cached at angles other than 0
+     */
+    static int getCacheSize()
+    {
+        return cache.count;
+    }
+
+    /**
+     * Build a template and cache it if there is room
+     */
+    private static synchronized VertexTemplate add(long key, int sides, float angle)
+    {
+        Table old = cache;
+        VertexTemplate t = old.get(key);
+        if(t != null)
+        {
+            return t;
+        }
+        t = new VertexTemplate(sides, angle);
+        if(old.count < CACHE_LIMIT)
+        {
+            int capacity = old.keys.length;
+            while(2 * (old.count + 1) > capacity)
+            {
+                capacity <<= 1;
+            }
+            Table table = new Table(capacity);
+            for(int i = 0; i < old.keys.length; i++)
+            {
+                if(old.values[i] != null)
+                {
+                    table.put(old.keys[i], old.values[i]);
+                }
+            }
+            table.put(key, t);
+            cache = table;
+        }
+        return t;
+    }
+
+    /**
+     * @return Number of vertices in the template
+     */
+    public int size()
+    {
+        return this.x.length;
+    }
+
+    /**
+     * Open addressing table from long keys to templates,
+     * at most half full
+     */
+    private static final class Table
+    {
+        final long[] keys;
+        final VertexTemplate[] values;
+        final int mask;
+        int count = 0;
+
+        Table(int capacity)
+        {
+            this.keys = new long[capacity];
+            this.values = new VertexTemplate[capacity];
+            this.mask = capacity - 1;
+        }
+
+        VertexTemplate get(long key)
+        {
+            int slot = hash(key) & this.mask;
+            while(this.values[slot] != null)
+            {
+                if(this.keys[slot] == key)
+                {
+                    return this.values[slot];
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return null;
+        }
+
+        void put(long key, VertexTemplate value)
+        {
+            int slot = hash(key) & this.mask;
+            while(this.values[slot] != null)
+            {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key;
+            this.values[slot] = value;
+            this.count++;
+        }
+
+        static int hash(long key)
+        {
+            long h = key * 0x9e3779b97f4a7c15L;
+            return (int)(h ^ (h >>> 32));
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.awt.event.*;
 import java.awt.geom.*;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.List;
 import javax.swing.*;
 import javax.media.opengl.*;
 import javax.media.opengl.awt.*;
@@ -65,20 +66,35 @@ public final class View
 	private Point2D.Double				cursor;		// Current cursor coordinates
 	private ArrayList<Point2D.Double>	points;		// User's polyline points
 
-	private String[] names = Network.getAllNames();
-	private int focusString = 0;
+	private final Roster roster;			// Nodes that can be placed
+	private IdSet names;					// Roster ids not yet placed
+	private int focusString;				// Shown id, -1 when all placed
 	private int focusPoly = 0;
-	private Stack<String> usedNames = new Stack<String>();
 	private PolygonCollection nodes = new PolygonCollection();
 	private float radius = 0.05f;
+	private final SceneRandom random;		// Seeded source for the scene
 
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
 
 	public View(GLJPanel canvas)
+	{
+		this(canvas, System.nanoTime());
+	}
+
+	public View(GLJPanel canvas, long seed)
+	{
+		this(canvas, seed, Network.getRoster());
+	}
+
+	public View(GLJPanel canvas, long seed, Roster roster)
 	{
 		this.canvas = canvas;
+		this.random = new SceneRandom(seed);
+		this.roster = roster;
+		this.names = new IdSet(roster.size(), true);
+		this.focusString = this.names.first();
 
 		// Initialize model
 		origin = new Point2D.Double(0.0, 0.0);
@@ -114,10 +130,25 @@ public final class View
 		return new Point2D.Double(origin.x, origin.y);
 	}
 
+	public double	getOriginX()
+	{
+		return origin.x;
+	}
+
+	public double	getOriginY()
+	{
+		return origin.y;
+	}
+
 	public void		setOrigin(Point2D.Double origin)
 	{
-		this.origin.x = origin.x;
-		this.origin.y = origin.y;
+		setOrigin(origin.x, origin.y);
+	}
+
+	public void		setOrigin(double x, double y)
+	{
+		this.origin.x = x;
+		this.origin.y = y;
 		canvas.repaint();
 	}
 
@@ -159,10 +190,8 @@ public final class View
 	 */
 	public void cycleString(boolean right)
 	{
-		if(right) this.focusString++;
-		else this.focusString--;
-		if(this.focusString >= this.names.length) this.focusString = 0;
-		else if(this.focusString <= 0) this.focusString = this.names.length - 1;
+		if(right) this.focusString = this.names.next(this.focusString);
+		else this.focusString = this.names.previous(this.focusString);
 	}
 
 	/*
@@ -187,7 +216,7 @@ public final class View
 		{
 			return;
 		}
-		String removed = this.nodes.remove();
+		int removed = this.nodes.remove();
 		if(this.nodes.size() == 0)
 		{
 			this.focusPoly = -1;
@@ -196,7 +225,11 @@ public final class View
 		{
 			this.focusPoly--;
 		}
-		this.addName(removed);
+		this.names.add(removed);
+		if(this.focusString == -1)
+		{
+			this.focusString = removed;
+		}
 	}
 
 	//////////////////////////////////////////////////////////////////////
@@ -339,22 +372,60 @@ public final class View
 	 */
 	public void placeName()
 	{
-		String name = this.names[this.focusString];
-		Color color = Network.getColor(name);
-		int sides = Network.getSides(name);
-		float r = (float)color.getRed() / 255f;
-		float g = (float)color.getGreen() / 255f;
-		float b = (float)color.getBlue() / 255f;
-		Random rand = new Random();
-		float x = rand.nextFloat() - 0.5f;
-		float y = rand.nextFloat() - 0.5f;
-		Polygon p = new Polygon(sides, new Point(x, y), this.radius, 0f, new float[]{r, g, b});
-		this.nodes.addPolygon(p, name);
-		this.usedNames.push(name);
-		this.removeName(name);
-		if(this.focusString == this.names.length)
+		int name = this.focusString;
+		if(name == -1)
 		{
-			this.cycleString(true);
+			return;
+		}
+		float x = this.random.nextFloat() - 0.5f;
+		float y = this.random.nextFloat() - 0.5f;
+		this.nodes.addPolygon(this.makeNode(name, x, y), name);
+		this.names.remove(name);
+		this.focusString = this.names.next(name);
+	}
+
+	/*
+	 * Place every name not yet placed at once, spread
+	 * out so that no two polygons overlap
+	 */
+	public void placeAll()
+	{
+		int[] ids = new int[this.names.size()];
+		for(int i = 0; i < ids.length; i++)
+		{
+			ids[i] = this.names.select(i);
+		}
+		this.placeNames(ids, ids.length);
+	}
+
+	/*
+	 * Place a selection of names in one batch with
+	 * Poisson disk sampling, clear of the polygons
+	 * already on the canvas
+	 */
+	public void placeNames(int[] ids, int n)
+	{
+		PoissonDisk sampler = new PoissonDisk(this.random);
+		for(Polygon p: this.nodes.getPolygons())
+		{
+			sampler.avoid(p.center.getFloatX(), p.center.getFloatY(), p.getRadius());
+		}
+		float[] radii = new float[n];
+		Arrays.fill(radii, this.radius);
+		float[] xs = new float[n];
+		float[] ys = new float[n];
+		sampler.place(radii, n, xs, ys);
+
+		Polygon[] ps = new Polygon[n];
+		for(int i = 0; i < n; i++)
+		{
+			ps[i] = this.makeNode(ids[i], xs[i], ys[i]);
+			this.names.remove(ids[i]);
+		}
+		this.nodes.addPolygons(ps, ids, n);
+		if(!this.names.contains(this.focusString))
+		{
+			this.focusString = this.names.next(this.focusString);
 		}
 	}
 
@@ -392,12 +463,12 @@ public final class View
 
 		gl.glClear(GL.GL_COLOR_BUFFER_BIT);		// Clear the buffer
 		drawAxes(gl);							// X and Y axes
-		ArrayList<Point> hull = this.nodes.getHull();
+		List<Point> hull = this.nodes.getHull();
 		if(hull.size() > 1)
 		{
 			this.drawHull(gl, hull);
 		}
-		if(this.names.length > 0)
+		if(this.focusString != -1)
 		{
 			drawName(drawable);
 		}
@@ -409,30 +480,14 @@ public final class View
 	// Private Methods (Scene)
 	//**********************************************************************
 
-	private void removeName(String name)
-	{
-		ArrayList<String> newArray = new ArrayList<String>();
-		for(String n: this.names)
-		{
-			if(n != name)
-			{
-				newArray.add(n);
-			}
-		}
-		this.names = new String[newArray.size()];
-		this.names = newArray.toArray(this.names);
-	}
-
-	private void addName(String name)
+	private Polygon makeNode(int name, float x, float y)
 	{
-		ArrayList<String> newArray = new ArrayList<String>();
-		for(String n: this.names)
-		{
-			newArray.add(n);
-		}
-		newArray.add(name);
-		this.names = new String[newArray.size()];
-		this.names = newArray.toArray(this.names);
+		int color = this.roster.getColor(name);
+		int sides = this.roster.getSides(name);
+		float r = (float)((color >> 16) & 0xff) / 255f;
+		float g = (float)((color >> 8) & 0xff) / 255f;
+		float b = (float)(color & 0xff) / 255f;
+		return new Polygon(sides, new Point(x, y, this.random), this.radius, 0f, new float[]{r, g, b});
 	}
 
 	private void	drawAxes(GL2 gl)
@@ -453,11 +508,11 @@ public final class View
 	{
 		renderer.beginRendering(drawable.getWidth(), drawable.getHeight());
 		renderer.setColor(1.0f, 1.0f, 0, 1.0f);
-		renderer.draw(this.names[this.focusString], 2, 2);
+		renderer.draw(this.roster.getName(this.focusString), 2, 2);
 		renderer.endRendering();
 	}
 
-	private void drawHull(GL2 gl, ArrayList<Point> hull)
+	private void drawHull(GL2 gl, List<Point> hull)
 	{
 		gl.glBegin(GL2.GL_POLYGON);
 		gl.glColor3f(1.0f, 0.0f, 0.0f);
@@ -0,0 +1,93 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the tree's pairs against testing every pair of
+ * boxes, while polygons move, turn and change size.
+ */
+public class AABBTreeTest
+{
+    @Test
+    public void pairsMatchEveryPairTest()
+    {
+        Random random = new Random(8);
+        AABBTree tree = new AABBTree();
+        ArrayList<Polygon> polygons = new ArrayList<Polygon>();
+        for(int i = 0; i < 200; i++)
+        {
+            Point center = new Point(2f * random.nextFloat(), 2f * random.nextFloat());
+            Polygon p = (i % 10 == 0) ? new Polygon(center, 0.05f)
+                                      : new Polygon(3 + random.nextInt(200), center, 0.05f, 0f);
+            p.index = i;
+            polygons.add(p);
+            tree.add(p);
+        }
+
+        PairList pairs = new PairList();
+        for(int frame = 0; frame < 100; frame++)
+        {
+            for(Polygon p: polygons)
+            {
+                switch(random.nextInt(4))
+                {
+                    case 0:
+                        p.move(0.02f * random.nextFloat() - 0.01f, 0.02f * random.nextFloat() - 0.01f);
+                        break;
+                    case 1:
+                        p.rotate(random.nextDouble());
+                        break;
+                    case 2:
+                        p.scale(0.9f + 0.2f * random.nextFloat());
+                        break;
+                    default:
+                        continue;
+                }
+                tree.moved(p);
+            }
+            pairs.clear();
+            tree.findPairs(polygons, pairs);
+            assertEquals(count(polygons), pairs.size());
+            for(int i = 0; i < pairs.size(); i++)
+            {
+                Polygon a = polygons.get(pairs.first(i));
+                Polygon b = polygons.get(pairs.second(i));
+                assertTrue(pairs.first(i) < pairs.second(i));
+                assertTrue(overlaps(a, b));
+            }
+        }
+    }
+
+    /**
+     * @return Number of pairs whose exact boxes overlap
+     */
+    private static int count(ArrayList<Polygon> polygons)
+    {
+        int count = 0;
+        for(int i = 0; i < polygons.size(); i++)
+        {
+            for(int j = i + 1; j < polygons.size(); j++)
+            {
+                if(overlaps(polygons.get(i), polygons.get(j)))
+                {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean overlaps(Polygon a, Polygon b)
+    {
+        return a.getMinX() <= b.getMaxX() && b.getMinX() <= a.getMaxX() &&
+               a.getMinY() <= b.getMaxY() && b.getMinY() <= a.getMaxY();
+    }
+}
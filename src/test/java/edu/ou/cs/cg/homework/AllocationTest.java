@@ -0,0 +1,126 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Checks that once warmed up, a frame of updates and
+ * collision checks allocates nothing on the heap.
+ *
+ * Uses the HotSpot per thread allocation counter, and is
+ * skipped on JVMs that do not have it.
+ */
+public class AllocationTest
+{
+    // Frames run before measuring, enough for the
+    // JIT to finish compiling them, and measured
+    private static final int WARMUP = 1000;
+    private static final int FRAMES = 200;
+
+    @Test
+    public void edgeFramesDoNotAllocate()
+    {
+        PolygonCollection nodes = scene();
+        nodes.setNarrowPhase(NarrowPhase.EDGES);
+        assertEquals(0L, allocated(nodes, false));
+    }
+
+    @Test
+    public void satFramesDoNotAllocate()
+    {
+        PolygonCollection nodes = scene();
+        nodes.setNarrowPhase(NarrowPhase.SAT);
+        assertEquals(0L, allocated(nodes, false));
+    }
+
+    @Test
+    public void continuousFramesDoNotAllocate()
+    {
+        PolygonCollection nodes = scene();
+        nodes.setNarrowPhase(NarrowPhase.SAT);
+        nodes.setContinuous(true);
+        assertEquals(0L, allocated(nodes, false));
+    }
+
+    @Test
+    public void contactFramesDoNotAllocate()
+    {
+        PolygonCollection nodes = scene();
+        assertEquals(0L, allocated(nodes, true));
+    }
+
+    /**
+     * @return A grid of overlapping polygons with
+     * single point polygons mixed in
+     */
+    private static PolygonCollection scene()
+    {
+        PolygonCollection nodes = new PolygonCollection();
+        int id = 0;
+        for(int i = 0; i < 15; i++)
+        {
+            for(int j = 0; j < 15; j++)
+            {
+                Point center = new Point(0.1f * i, 0.1f * j);
+                Polygon p = (id % 10 == 9) ? new Polygon(center, 0.06f)
+                                           : new Polygon(3 + id % 10, center, 0.06f, 0f);
+                nodes.addPolygon(p, id++);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Run frames that shake every polygon back and forth
+     * and check collisions, then measure more of them
+     *
+     * @return Bytes allocated by the measured frames
+     */
+    private static long allocated(PolygonCollection nodes, boolean contacts)
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long id = Thread.currentThread().getId();
+
+        PairList pairs = new PairList();
+        ContactBuffer buffer = new ContactBuffer();
+        long before = 0L;
+        for(int frame = 0; frame < WARMUP + FRAMES; frame++)
+        {
+            if(frame == WARMUP)
+            {
+                // Warm the counter call itself too
+                threads.getThreadAllocatedBytes(id);
+                before = threads.getThreadAllocatedBytes(id);
+            }
+            float speed = (frame % 2 == 0) ? 1e-3f : -1e-3f;
+            for(int i = 0; i < nodes.size(); i++)
+            {
+                nodes.getPolygons().get(i).center.getVelocity().set(speed, speed * 0.5f);
+            }
+            nodes.update();
+            if(contacts)
+            {
+                nodes.findContacts(buffer);
+            }
+            else
+            {
+                nodes.findCollisions(pairs);
+            }
+        }
+        long after = threads.getThreadAllocatedBytes(id);
+        assertTrue("no pairs found", contacts ? buffer.size() > 0 : pairs.size() > 0);
+        return after - before;
+    }
+}
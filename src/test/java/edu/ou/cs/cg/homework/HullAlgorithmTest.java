@@ -0,0 +1,214 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the hull algorithms against each other. Every one
+ * must give the same corners in the same counter clockwise
+ * order, leaving out points along a side and repeats.
+ */
+public class HullAlgorithmTest
+{
+    @Test
+    public void randomPointsAgree()
+    {
+        Random random = new Random(1);
+        for(int trial = 0; trial < 50; trial++)
+        {
+            int n = 3 + random.nextInt(2000);
+            float[] xs = new float[n];
+            float[] ys = new float[n];
+            for(int i = 0; i < n; i++)
+            {
+                xs[i] = random.nextFloat() * 2f - 1f;
+                ys[i] = random.nextFloat() * 2f - 1f;
+            }
+            checkAgree(xs, ys, n);
+        }
+    }
+
+    @Test
+    public void integerGridsAgree()
+    {
+        Random random = new Random(2);
+        for(int trial = 0; trial < 50; trial++)
+        {
+            int n = 3 + random.nextInt(1200);
+            int size = 1 + random.nextInt(12);
+            float[] xs = new float[n];
+            float[] ys = new float[n];
+            for(int i = 0; i < n; i++)
+            {
+                xs[i] = random.nextInt(size);
+                ys[i] = random.nextInt(size);
+            }
+            checkAgree(xs, ys, n);
+        }
+    }
+
+    @Test
+    public void fullGridHasFourCorners()
+    {
+        int n = 1003;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for(int i = 0; i < n; i++)
+        {
+            xs[i] = i % 10;
+            ys[i] = (i / 10) % 10;
+        }
+        for(HullAlgorithm algorithm: algorithms())
+        {
+            float[][] hull = hull(algorithm, xs, ys, n);
+            assertEquals(name(algorithm), 4, hull.length);
+        }
+        checkAgree(xs, ys, n);
+    }
+
+    @Test
+    public void denseCircleAgrees()
+    {
+        int n = 5000;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for(int i = 0; i < n; i++)
+        {
+            double theta = 2.0 * Math.PI * i / n;
+            xs[i] = (float)Math.cos(theta);
+            ys[i] = (float)Math.sin(theta);
+        }
+        checkAgree(xs, ys, n);
+    }
+
+    @Test
+    public void collinearPointsGiveTheEnds()
+    {
+        int n = 100;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for(int i = 0; i < n; i++)
+        {
+            xs[i] = (i * 37) % n;
+            ys[i] = 2f * xs[i];
+        }
+        for(HullAlgorithm algorithm: algorithms())
+        {
+            float[][] hull = hull(algorithm, xs, ys, n);
+            assertEquals(name(algorithm), 2, hull.length);
+        }
+    }
+
+    @Test
+    public void onePointGivesOnePoint()
+    {
+        int n = 20;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for(HullAlgorithm algorithm: algorithms())
+        {
+            float[][] hull = hull(algorithm, xs, ys, n);
+            assertEquals(name(algorithm), 1, hull.length);
+        }
+    }
+
+    /**
+     * Assert every algorithm gives the monotone chain's hull,
+     * and that it is convex and holds every point
+     */
+    private static void checkAgree(float[] xs, float[] ys, int n)
+    {
+        float[][] expected = hull(new MonotoneChainHull(), xs, ys, n);
+        for(HullAlgorithm algorithm: algorithms())
+        {
+            float[][] actual = hull(algorithm, xs, ys, n);
+            assertEquals(name(algorithm) + " size", expected.length, actual.length);
+            for(int i = 0; i < expected.length; i++)
+            {
+                assertEquals(name(algorithm) + " x", expected[i][0], actual[i][0], 0.0);
+                assertEquals(name(algorithm) + " y", expected[i][1], actual[i][1], 0.0);
+            }
+        }
+
+        int h = expected.length;
+        if(h < 3)
+        {
+            return;
+        }
+        for(int i = 0; i < h; i++)
+        {
+            float[] a = expected[i];
+            float[] b = expected[(i + 1) % h];
+            float[] c = expected[(i + 2) % h];
+            assertTrue("convex", Predicates.orient2d(a[0], a[1], b[0], b[1], c[0], c[1]) > 0.0);
+            for(int j = 0; j < n; j++)
+            {
+                assertTrue("contains", Predicates.orient2d(a[0], a[1], b[0], b[1], xs[j], ys[j]) >= 0.0);
+            }
+        }
+    }
+
+    /**
+     * @return Hull corners in order, starting at the lowest
+     * leftmost one, with repeated spots dropped
+     */
+    private static float[][] hull(HullAlgorithm algorithm, float[] xs, float[] ys, int n)
+    {
+        int[] out = new int[n];
+        int count = algorithm.compute(xs, ys, n, out);
+
+        ArrayList<float[]> points = new ArrayList<float[]>();
+        for(int i = 0; i < count; i++)
+        {
+            float[] p = new float[] { xs[out[i]], ys[out[i]] };
+            float[] last = points.isEmpty() ? null : points.get(points.size() - 1);
+            if(last == null || last[0] != p[0] || last[1] != p[1])
+            {
+                points.add(p);
+            }
+        }
+        while(points.size() > 1 && same(points.get(0), points.get(points.size() - 1)))
+        {
+            points.remove(points.size() - 1);
+        }
+
+        int start = 0;
+        for(int i = 1; i < points.size(); i++)
+        {
+            float[] p = points.get(i);
+            float[] s = points.get(start);
+            if(p[0] < s[0] || (p[0] == s[0] && p[1] < s[1]))
+            {
+                start = i;
+            }
+        }
+        float[][] ordered = new float[points.size()][];
+        for(int i = 0; i < ordered.length; i++)
+        {
+            ordered[i] = points.get((start + i) % ordered.length);
+        }
+        return ordered;
+    }
+
+    private static boolean same(float[] a, float[] b)
+    {
+        return a[0] == b[0] && a[1] == b[1];
+    }
+
+    private static HullAlgorithm[] algorithms()
+    {
+        return new HullAlgorithm[] { new MonotoneChainHull(), new GiftWrappingHull(), new QuickHull() };
+    }
+
+    private static String name(HullAlgorithm algorithm)
+    {
+        return algorithm.getClass().getSimpleName();
+    }
+}
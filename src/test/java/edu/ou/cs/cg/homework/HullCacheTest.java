@@ -0,0 +1,107 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Checks that the collection's hull is only computed again
+ * after something in the collection changed, and once per
+ * change however often it is asked for.
+ */
+public class HullCacheTest
+{
+    // Hull requests per step, as many frames would make
+    private static final int CALLS = 100;
+
+    @Test
+    public void unchangedSceneReusesTheHull()
+    {
+        PolygonCollection nodes = scene();
+        List<Point> hull = nodes.getHull();
+        assertEquals(1, nodes.getHullComputations());
+        for(int i = 0; i < CALLS; i++)
+        {
+            assertSame(hull, nodes.getHull());
+        }
+        assertEquals(1, nodes.getHullComputations());
+    }
+
+    @Test
+    public void eachChangeRecomputesOnce()
+    {
+        PolygonCollection nodes = scene();
+        nodes.getHull();
+
+        nodes.getPolygons().get(3).move(0.5f, 0f);
+        List<Point> hull = askOften(nodes);
+        assertEquals(2, nodes.getHullComputations());
+
+        nodes.addPolygon(new Polygon(5, new Point(2f, 2f), 0.1f, 0f), 100);
+        assertNotSame(hull, askOften(nodes));
+        assertEquals(3, nodes.getHullComputations());
+
+        nodes.remove();
+        askOften(nodes);
+        assertEquals(4, nodes.getHullComputations());
+
+        nodes.getPolygons().get(0).rotate(0.3);
+        askOften(nodes);
+        assertEquals(5, nodes.getHullComputations());
+    }
+
+    @Test
+    public void sleepingSceneDoesNotRecompute()
+    {
+        // Still polygons fall asleep and stop being moved,
+        // after which updating changes nothing
+        PolygonCollection nodes = scene();
+        for(int i = 0; i <= PolygonCollection.SLEEP_TICKS; i++)
+        {
+            nodes.update();
+        }
+        assertEquals(0, nodes.getActiveCount());
+        nodes.getHull();
+        int computations = nodes.getHullComputations();
+        for(int i = 0; i < CALLS; i++)
+        {
+            nodes.update();
+            nodes.getHull();
+        }
+        assertEquals(computations, nodes.getHullComputations());
+    }
+
+    /**
+     * @return The hull, after asking for it many times
+     */
+    private static List<Point> askOften(PolygonCollection nodes)
+    {
+        List<Point> hull = nodes.getHull();
+        for(int i = 1; i < CALLS; i++)
+        {
+            assertSame(hull, nodes.getHull());
+        }
+        return hull;
+    }
+
+    /**
+     * @return A row of still polygons, hull computed
+     * on the calling thread
+     */
+    private static PolygonCollection scene()
+    {
+        PolygonCollection nodes = new PolygonCollection();
+        nodes.setHullAsync(false);
+        for(int i = 0; i < 10; i++)
+        {
+            nodes.addPolygon(new Polygon(3 + i, new Point(0.3f * i, 0f), 0.1f, 0f), i);
+        }
+        return nodes;
+    }
+}
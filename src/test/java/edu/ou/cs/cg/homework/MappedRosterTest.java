@@ -0,0 +1,154 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that a written roster maps back the same, and that
+ * files with side counts no node can have are refused.
+ */
+public class MappedRosterTest
+{
+    // File each test writes its roster to
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException
+    {
+        this.file = Files.createTempFile("roster", ".bin");
+    }
+
+    @After
+    public void deleteFile() throws IOException
+    {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    public void roundTrips() throws IOException
+    {
+        Roster roster = roster();
+        MappedRoster.write(roster, this.file);
+        MappedRoster mapped = MappedRoster.open(this.file);
+        assertEquals(roster.size(), mapped.size());
+        for(int id = 0; id < roster.size(); id++)
+        {
+            assertEquals(roster.getName(id), mapped.getName(id));
+            assertEquals(roster.getSides(id), mapped.getSides(id));
+            assertEquals(roster.getColor(id), mapped.getColor(id));
+            assertEquals(roster.getId(roster.getName(id)), mapped.getId(roster.getName(id)));
+        }
+        assertEquals(-1, mapped.getId("Nowhere"));
+    }
+
+    @Test
+    public void refusesBadSides() throws IOException
+    {
+        int[] bad = { 0, 2, -1, VertexTemplate.MAX_SIDES + 1, Integer.MAX_VALUE };
+        for(int sides: bad)
+        {
+            MappedRoster.write(roster(), this.file);
+            this.setSides(1, sides);
+            try
+            {
+                MappedRoster.open(this.file);
+                fail("opened with " + sides + " sides");
+            }
+            catch(IOException e)
+            {
+                assertTrue(e.getMessage(), e.getMessage().endsWith("node 1"));
+            }
+        }
+    }
+
+    @Test
+    public void refusesBrokenTables() throws IOException
+    {
+        Roster roster = roster();
+        int size = roster.size();
+        int slots = 16;
+        int offsetsAt = 16 + 8 * size;
+        int tableAt = offsetsAt + 4 * (size + 1);
+
+        // An id past the end
+        MappedRoster.write(roster, this.file);
+        this.putInt(tableAt + 4 * 5, size + 1);
+        this.checkRefused("hash slot 5");
+
+        // A name starting before the one ahead of it
+        MappedRoster.write(roster, this.file);
+        this.putInt(offsetsAt + 4 * 2, 1);
+        this.checkRefused("node 2");
+
+        // No empty slot to stop a lookup
+        MappedRoster.write(roster, this.file);
+        for(int slot = 0; slot < slots; slot++)
+        {
+            this.putInt(tableAt + 4 * slot, 1);
+        }
+        this.checkRefused("full hash table");
+    }
+
+    /**
+     * Assert opening the file fails with a message
+     */
+    private void checkRefused(String message)
+    {
+        try
+        {
+            MappedRoster.open(this.file);
+            fail("opened a file with a " + message);
+        }
+        catch(IOException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().endsWith(message));
+        }
+    }
+
+    /**
+     * @return A small roster on the heap
+     */
+    private static Roster roster()
+    {
+        String[] names = { "Norman", "Moore", "Tulsa" };
+        int[] sides = { 6, 1, VertexTemplate.MAX_SIDES };
+        int[] colors = { 0xff8000, 0x00ff00, 0x0000ff };
+        return new ArrayRoster(names, sides, colors, names.length);
+    }
+
+    /**
+     * Overwrite the side count of a node in the file
+     */
+    private void setSides(int id, int sides) throws IOException
+    {
+        this.putInt(16 + 4 * id, sides);
+    }
+
+    /**
+     * Overwrite an int in the file
+     */
+    private void putInt(int at, int value) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE))
+        {
+            ByteBuffer bytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.putInt(0, value);
+            channel.write(bytes, at);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that roster files load, and that bad lines are
+ * refused with their line number.
+ */
+public class RosterLoaderTest
+{
+    // File each test writes its roster to
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException
+    {
+        this.file = Files.createTempFile("roster", ".csv");
+    }
+
+    @After
+    public void deleteFile() throws IOException
+    {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    public void loadsGoodLines() throws IOException
+    {
+        Roster roster = this.load("# name,sides,color\n" +
+                                  "Norman,6,#ff8000\n" +
+                                  "\n" +
+                                  "Tulsa, Oklahoma , 1 , 0x00ff00\r\n" +
+                                  "Lawton,1024,0000ff");
+        assertEquals(3, roster.size());
+        assertEquals("Norman", roster.getName(0));
+        assertEquals(6, roster.getSides(0));
+        assertEquals(0xff8000, roster.getColor(0));
+        assertEquals("Tulsa, Oklahoma", roster.getName(1));
+        assertEquals(1, roster.getSides(1));
+        assertEquals(0x00ff00, roster.getColor(1));
+        assertEquals(1024, roster.getSides(2));
+        assertEquals(2, roster.getId("Lawton"));
+    }
+
+    @Test
+    public void refusesBadSides() throws IOException
+    {
+        String[] bad = { "0", "2", "1025", "100000000" };
+        for(String sides: bad)
+        {
+            this.checkRefused("Norman,6,ff0000\n\nMoore," + sides + ",ff0000\n", 3);
+        }
+    }
+
+    @Test
+    public void refusesMalformedLines() throws IOException
+    {
+        this.checkRefused("Norman,6,ff0000\nMoore\n", 2);
+        this.checkRefused("Norman,6\n", 1);
+        this.checkRefused("Norman,6,ff0000\nMoore,,ff0000\n", 2);
+        this.checkRefused("Norman,-3,ff0000\n", 1);
+        this.checkRefused("Norman,six,ff0000\n", 1);
+        this.checkRefused("Norman,99999999999,ff0000\n", 1);
+        this.checkRefused("Norman,6,red\n", 1);
+    }
+
+    /**
+     * Write a roster file and load it
+     */
+    private Roster load(String text) throws IOException
+    {
+        Files.write(this.file, text.getBytes(StandardCharsets.UTF_8));
+        return new RosterLoader().load(this.file);
+    }
+
+    /**
+     * Assert loading a roster fails on a line
+     */
+    private void checkRefused(String text, int line) throws IOException
+    {
+        try
+        {
+            this.load(text);
+            fail("loaded " + text);
+        }
+        catch(IOException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line " + line + ":"));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the separating axis test against the side by
+ * side test on random pairs of convex polygons. They must
+ * agree, except that only SAT sees one polygon inside
+ * another, and SAT's depth and normal must push the pair
+ * apart.
+ */
+public class SatTest
+{
+    // Random pairs tried
+    private static final int PAIRS = 20000;
+
+    @Test
+    public void agreesWithEdgeTest()
+    {
+        Random random = new Random(9);
+        Sat sat = new Sat();
+        Contact contact = new Contact();
+        int hits = 0;
+        int contained = 0;
+        for(int i = 0; i < PAIRS; i++)
+        {
+            Polygon a = polygon(random);
+            Polygon b = polygon(random);
+            boolean edges = PolygonCollection.collides(a, b);
+            boolean separating = sat.collide(a, b, contact);
+            if(edges)
+            {
+                assertTrue("edge hit missed by SAT", separating);
+                hits++;
+            }
+            else if(separating)
+            {
+                assertTrue("SAT hit without containment",
+                           contact.firstContainsSecond || contact.secondContainsFirst);
+                assertTrue("reported containment is real", holds(contact.firstContainsSecond ? a : b,
+                                                                 contact.firstContainsSecond ? b : a));
+                contained++;
+            }
+        }
+        assertTrue("too few hits to mean anything", hits > PAIRS / 10);
+        assertTrue("too few containments to mean anything", contained > 10);
+    }
+
+    @Test
+    public void depthAndNormalSeparate()
+    {
+        Random random = new Random(10);
+        Sat sat = new Sat();
+        Contact contact = new Contact();
+        for(int i = 0; i < PAIRS; i++)
+        {
+            Polygon a = polygon(random);
+            Polygon b = polygon(random);
+            if(!sat.collide(a, b, contact))
+            {
+                continue;
+            }
+            assertEquals("unit normal", 1.0,
+                         Math.hypot(contact.normalX, contact.normalY), 1e-4);
+            assertTrue("depth", contact.depth >= 0f);
+
+            // Moving b out along the normal by the depth,
+            // plus a little for rounding, must clear a
+            float push = contact.depth + 1e-4f;
+            b.move(contact.normalX * push, contact.normalY * push);
+            assertFalse("still overlapping after push", sat.collide(a, b, contact));
+        }
+    }
+
+    @Test
+    public void separatedPairsStaySeparated()
+    {
+        Sat sat = new Sat();
+        Contact contact = new Contact();
+        for(int sides = 3; sides < 40; sides++)
+        {
+            Polygon a = new Polygon(sides, new Point(0f, 0f), 0.5f, 0f);
+            Polygon b = new Polygon(sides, new Point(1.0001f, 0f), 0.5f, 0f);
+            assertFalse(sat.collide(a, b, contact));
+            assertFalse(PolygonCollection.collides(a, b));
+        }
+    }
+
+    /**
+     * @return A regular polygon of random size, place and turn
+     */
+    private static Polygon polygon(Random random)
+    {
+        int sides = 3 + random.nextInt(30);
+        float radius = 0.02f + 0.3f * random.nextFloat();
+        Point center = new Point(0.6f * random.nextFloat() - 0.3f, 0.6f * random.nextFloat() - 0.3f);
+        Polygon p = new Polygon(sides, center, radius, 360f * random.nextFloat());
+        p.rotate(2.0 * Math.PI * random.nextDouble());
+        return p;
+    }
+
+    /**
+     * @return If every vertex of inner is inside outer
+     */
+    private static boolean holds(Polygon outer, Polygon inner)
+    {
+        PolygonStore s = inner.vertices();
+        for(int i = 0; i < inner.getVertexCount(); i++)
+        {
+            int j = inner.offset() + i;
+            if(!outer.contains(s.getX()[j], s.getY()[j]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks that scenes settle and fall asleep, and that waking
+ * a polygon wakes its own island and nothing else.
+ */
+public class SleepTest
+{
+    // Most frames a moving scene gets to settle in
+    private static final int SETTLE_FRAMES = 2000;
+
+    @Test
+    public void stillSceneFallsAsleep()
+    {
+        PolygonCollection nodes = new PolygonCollection();
+        addCluster(nodes, 0f, 0);
+        run(nodes, PolygonCollection.SLEEP_TICKS - 1);
+        assertEquals(nodes.size(), nodes.getActiveCount());
+        run(nodes, 1);
+        assertEquals(0, nodes.getActiveCount());
+        assertEquals(nodes.size(), nodes.getSleepingCount());
+    }
+
+    @Test
+    public void movingSceneSettles()
+    {
+        SceneRandom random = new SceneRandom(13);
+        PolygonCollection nodes = new PolygonCollection();
+        nodes.setDamping(0.02f);
+        for(int i = 0; i < 50; i++)
+        {
+            Point center = new Point(0.2f * (i % 10), 0.2f * (i / 10), random);
+            nodes.addPolygon(new Polygon(3 + i % 6, center, 0.05f, 0f), i);
+        }
+        int frames = 0;
+        while(nodes.getActiveCount() > 0 && frames < SETTLE_FRAMES)
+        {
+            run(nodes, 1);
+            frames++;
+        }
+        assertEquals(0, nodes.getActiveCount());
+        for(Polygon p: nodes.getPolygons())
+        {
+            assertTrue(p.center.getVelocity().getMagnitude() < PolygonCollection.SLEEP_SPEED);
+        }
+    }
+
+    @Test
+    public void undampedSceneKeepsMoving()
+    {
+        // Damping is off unless asked for, so a moving
+        // node keeps its speed and never sleeps
+        SceneRandom random = new SceneRandom(13);
+        PolygonCollection nodes = new PolygonCollection();
+        Polygon p = new Polygon(4, new Point(0f, 0f, random), 0.05f, 0f);
+        float speed = p.center.getVelocity().getMagnitude();
+        nodes.addPolygon(p, 0);
+        run(nodes, SETTLE_FRAMES);
+        assertEquals(1, nodes.getActiveCount());
+        assertEquals(speed, p.center.getVelocity().getMagnitude(), 0.0);
+    }
+
+    @Test
+    public void wakingOneIslandLeavesTheOther()
+    {
+        PolygonCollection nodes = new PolygonCollection();
+        int left = addCluster(nodes, 0f, 0);
+        int right = addCluster(nodes, 5f, left);
+        run(nodes, PolygonCollection.SLEEP_TICKS);
+        assertEquals(left + right, nodes.getSleepingCount());
+
+        // A move on the left wakes all of the left
+        nodes.getPolygons().get(left - 1).move(0.01f, 0f);
+        assertEquals(right, nodes.getSleepingCount());
+        for(int i = 0; i < left + right; i++)
+        {
+            assertEquals(i >= left, nodes.getPolygons().get(i).isAsleep());
+        }
+
+        // The left falls asleep again without
+        // disturbing the right
+        run(nodes, PolygonCollection.SLEEP_TICKS);
+        assertEquals(left + right, nodes.getSleepingCount());
+
+        // Removing a sleeping polygon wakes the rest
+        // of its island, and only that
+        nodes.setFocused(left);
+        nodes.remove();
+        assertEquals(left, nodes.getSleepingCount());
+        for(int i = 0; i < nodes.size(); i++)
+        {
+            assertEquals(i < left, nodes.getPolygons().get(i).isAsleep());
+        }
+        run(nodes, PolygonCollection.SLEEP_TICKS);
+        assertEquals(0, nodes.getActiveCount());
+    }
+
+    @Test
+    public void sleepingPairsAreLeftOut()
+    {
+        BroadPhase[] phases = { new AABBTree(), new SpatialHashGrid() };
+        for(BroadPhase phase: phases)
+        {
+            PolygonCollection nodes = new PolygonCollection();
+            nodes.setBroadPhase(phase);
+            int left = addCluster(nodes, 0f, 0);
+            addCluster(nodes, 5f, left);
+            PairList pairs = new PairList();
+            nodes.findCollisions(pairs);
+            int touching = pairs.size();
+            assertTrue(touching > 0);
+
+            run(nodes, PolygonCollection.SLEEP_TICKS);
+            nodes.findCollisions(pairs);
+            assertEquals(0, pairs.size());
+
+            // Waking the left island brings back its pairs
+            nodes.getPolygons().get(0).move(0f, 0f);
+            nodes.findCollisions(pairs);
+            assertEquals(touching / 2, pairs.size());
+        }
+    }
+
+    @Test
+    public void newVelocityWakesTheIsland()
+    {
+        PolygonCollection nodes = new PolygonCollection();
+        int n = addCluster(nodes, 0f, 0);
+        run(nodes, PolygonCollection.SLEEP_TICKS);
+        Polygon p = nodes.getPolygons().get(n / 2);
+        p.setVelocity(new Vector(0.01f, 0f));
+        assertEquals(0, nodes.getSleepingCount());
+        run(nodes, 1);
+        assertFalse(p.isAsleep());
+    }
+
+    /**
+     * Add a still row of overlapping polygons
+     *
+     * @param x: Left end of the row
+     * @param first: Roster id of the first one
+     *
+     * @return How many were added
+     */
+    private static int addCluster(PolygonCollection nodes, float x, int first)
+    {
+        int n = 8;
+        for(int i = 0; i < n; i++)
+        {
+            nodes.addPolygon(new Polygon(3 + i, new Point(x + 0.15f * i, 0f), 0.1f, 0f), first + i);
+        }
+        return n;
+    }
+
+    /**
+     * Run frames of collision checks and updates
+     */
+    private static void run(PolygonCollection nodes, int frames)
+    {
+        PairList pairs = new PairList();
+        for(int i = 0; i < frames; i++)
+        {
+            nodes.findCollisions(pairs);
+            nodes.update();
+        }
+    }
+}
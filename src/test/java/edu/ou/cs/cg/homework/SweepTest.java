@@ -0,0 +1,113 @@
+/**
+ * Author: Austin Graham
+ */
+package edu.ou.cs.cg.homework;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Fires small fast polygons and points at small still ones
+ * from every side. In one update they would jump clean past
+ * their target, so continuous mode must stop them short of
+ * it, on the side they came from.
+ */
+public class SweepTest
+{
+    // Directions the mover comes from
+    private static final int ANGLES = 72;
+
+    // Size of the target and of moving polygons
+    private static final float RADIUS = 0.02f;
+
+    @Test
+    public void polygonsDoNotTunnel()
+    {
+        for(int sides = 3; sides <= 12; sides += 3)
+        {
+            for(int k = 0; k < ANGLES; k++)
+            {
+                double theta = 2.0 * Math.PI * k / ANGLES;
+                this.checkStops(sides, theta, 2f, 0f);
+                this.checkStops(sides, theta, 7f, 0.5f * RADIUS);
+            }
+        }
+    }
+
+    @Test
+    public void pointsDoNotTunnel()
+    {
+        for(int k = 0; k < ANGLES; k++)
+        {
+            double theta = 2.0 * Math.PI * k / ANGLES;
+            this.checkStops(1, theta, 2f, 0f);
+            this.checkStops(1, theta, 7f, 0.5f * RADIUS);
+        }
+    }
+
+    @Test
+    public void discreteUpdatesTunnel()
+    {
+        // Without the sweep the same shot lands past the
+        // target, so the tests above mean something
+        PolygonCollection nodes = new PolygonCollection();
+        Polygon target = new Polygon(6, new Point(0f, 0f), RADIUS, 0f);
+        Polygon mover = new Polygon(6, new Point(-1f, 0f), RADIUS, 0f);
+        nodes.addPolygon(target, 0);
+        nodes.addPolygon(mover, 1);
+        mover.setVelocity(new Vector(2f, 0f));
+        nodes.update();
+        assertTrue(mover.center.getFloatX() > 0.9f);
+        assertFalse(PolygonCollection.collides(target, mover));
+    }
+
+    /**
+     * Shoot a mover at the target from one side and check
+     * it stopped before passing through
+     *
+     * @param sides: Sides of the mover, 1 for a point
+     * @param theta: Direction the mover starts in
+     * @param speed: Distance it would travel in the update
+     * @param offset: How far off center it is aimed
+     */
+    private void checkStops(int sides, double theta, float speed, float offset)
+    {
+        float dx = (float)Math.cos(theta);
+        float dy = (float)Math.sin(theta);
+        float sx = dx - offset * dy;
+        float sy = dy + offset * dx;
+
+        PolygonCollection nodes = new PolygonCollection();
+        nodes.setContinuous(true);
+        Polygon target = new Polygon(5, new Point(0f, 0f), RADIUS, 0f);
+        Polygon mover;
+        if(sides == 1)
+        {
+            mover = new Polygon(new Point(sx, sy), RADIUS);
+        }
+        else
+        {
+            mover = new Polygon(sides, new Point(sx, sy), RADIUS, 0f);
+        }
+        nodes.addPolygon(target, 0);
+        nodes.addPolygon(mover, 1);
+        mover.setVelocity(new Vector(-speed * dx, -speed * dy));
+        nodes.update();
+
+        String where = "sides " + sides + " theta " + theta + " speed " + speed;
+        float x = mover.center.getFloatX();
+        float y = mover.center.getFloatY();
+        assertTrue("passed through, " + where, x * dx + y * dy > 0f);
+        assertTrue("never reached, " + where, x * dx + y * dy < 0.5f);
+        if(sides == 1)
+        {
+            assertFalse("point inside, " + where, target.contains(x, y));
+        }
+        else
+        {
+            assertFalse("overlapping, " + where, new Sat().collide(target, mover, new Contact()));
+        }
+    }
+}